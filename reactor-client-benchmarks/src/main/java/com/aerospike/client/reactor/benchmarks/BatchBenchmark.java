@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.retry.AerospikeReactorRetryClient;
+import com.aerospike.client.reactor.retry.RetryFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch get returning one result and getFlux streaming per-key results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+	@Param({"10", "100"})
+	public int batchSize;
+
+	private Key[] keys;
+
+	private IAerospikeClient client;
+	private IAerospikeReactorClient reactorClient;
+	private IAerospikeReactorClient retryClient;
+
+	@Setup
+	public void setup() {
+		keys = new Key[batchSize];
+		for (int i = 0; i < batchSize; i++) {
+			keys[i] = new Key("test", "bench", i);
+		}
+		client = new StubAerospikeClient(0);
+		reactorClient = new AerospikeReactorClient(client);
+		retryClient = new AerospikeReactorRetryClient(reactorClient, RetryFactories.retryOnNoMoreConnections());
+	}
+
+	@Benchmark
+	public void batchGetRaw(Blackhole blackhole) {
+		client.get(null, new Consumers.RecordArrays(blackhole), null, keys);
+	}
+
+	@Benchmark
+	public void batchGetReactor(Blackhole blackhole) {
+		reactorClient.get(keys).subscribe(new Consumers.Subscriber<KeysRecords>(blackhole));
+	}
+
+	@Benchmark
+	public void batchGetRetry(Blackhole blackhole) {
+		retryClient.get(keys).subscribe(new Consumers.Subscriber<KeysRecords>(blackhole));
+	}
+
+	@Benchmark
+	public void getFluxRaw(Blackhole blackhole) {
+		client.get(null, new Consumers.RecordSequence(blackhole), null, keys);
+	}
+
+	@Benchmark
+	public void getFluxReactor(Blackhole blackhole) {
+		reactorClient.getFlux(keys).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+
+	@Benchmark
+	public void getFluxRetry(Blackhole blackhole) {
+		retryClient.getFlux(keys).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.listener.RecordArrayListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+
+/**
+ * Result consumers feeding the JMH blackhole. One consumer is created per operation
+ * for every variant, the way application code allocates a listener or subscriber per call.
+ */
+final class Consumers {
+
+	private Consumers() {
+	}
+
+	static final class Subscriber<T> implements CoreSubscriber<T> {
+		private final Blackhole blackhole;
+
+		Subscriber(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(T value) {
+			blackhole.consume(value);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			throw new IllegalStateException(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+
+	static final class Records implements RecordListener {
+		private final Blackhole blackhole;
+
+		Records(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onSuccess(Key key, Record record) {
+			blackhole.consume(record);
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			throw exception;
+		}
+	}
+
+	static final class Writes implements WriteListener {
+		private final Blackhole blackhole;
+
+		Writes(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onSuccess(Key key) {
+			blackhole.consume(key);
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			throw exception;
+		}
+	}
+
+	static final class RecordArrays implements RecordArrayListener {
+		private final Blackhole blackhole;
+
+		RecordArrays(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onSuccess(Key[] keys, Record[] records) {
+			blackhole.consume(records);
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			throw exception;
+		}
+	}
+
+	static final class RecordSequence implements RecordSequenceListener {
+		private final Blackhole blackhole;
+
+		RecordSequence(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onRecord(Key key, Record record) {
+			blackhole.consume(record);
+		}
+
+		@Override
+		public void onSuccess() {
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			throw exception;
+		}
+	}
+}
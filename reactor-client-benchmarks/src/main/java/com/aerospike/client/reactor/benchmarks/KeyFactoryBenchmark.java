@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.reactor.KeyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key creation with a digest per key versus {@link KeyFactory}, cycling through a fixed set
+ * of repeated user keys. With {@code distinctKeys} above the factory capacity most lookups
+ * miss and show the cost of the cache on top of the digest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyFactoryBenchmark {
+
+	private static final int CAPACITY = 65536;
+
+	@Param({"1000", "1000000"})
+	public int distinctKeys;
+
+	private KeyFactory keyFactory;
+	private String[] stringKeys;
+	private int next;
+
+	@Setup
+	public void setup() {
+		keyFactory = new KeyFactory(CAPACITY);
+		stringKeys = new String[distinctKeys];
+
+		for (int i = 0; i < distinctKeys; i++) {
+			stringKeys[i] = "user-" + i;
+		}
+	}
+
+	@Benchmark
+	public Key newLongKey() {
+		return new Key("test", "bench", nextIndex());
+	}
+
+	@Benchmark
+	public Key factoryLongKey() {
+		return keyFactory.key("test", "bench", nextIndex());
+	}
+
+	@Benchmark
+	public Key newStringKey() {
+		return new Key("test", "bench", stringKeys[nextIndex()]);
+	}
+
+	@Benchmark
+	public Key factoryStringKey() {
+		return keyFactory.key("test", "bench", stringKeys[nextIndex()]);
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = index + 1 == distinctKeys ? 0 : index + 1;
+		return index;
+	}
+}
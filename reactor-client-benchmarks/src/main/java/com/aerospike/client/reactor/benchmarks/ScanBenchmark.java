@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.retry.AerospikeReactorRetryClient;
+import com.aerospike.client.reactor.retry.RetryFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scanAll streaming all records of a set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScanBenchmark {
+
+	@Param({"100", "10000"})
+	public int records;
+
+	private IAerospikeClient client;
+	private IAerospikeReactorClient reactorClient;
+	private IAerospikeReactorClient retryClient;
+
+	@Setup
+	public void setup() {
+		client = new StubAerospikeClient(records);
+		reactorClient = new AerospikeReactorClient(client);
+		retryClient = new AerospikeReactorRetryClient(reactorClient, RetryFactories.retryOnNoMoreConnections());
+	}
+
+	@Benchmark
+	public void scanAllRaw(Blackhole blackhole) {
+		client.scanAll(null, new Consumers.RecordSequence(blackhole), null, "test", "bench");
+	}
+
+	@Benchmark
+	public void scanAllReactor(Blackhole blackhole) {
+		reactorClient.scanAll("test", "bench").subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+
+	@Benchmark
+	public void scanAllRetry(Blackhole blackhole) {
+		retryClient.scanAll("test", "bench").subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.retry.AerospikeReactorRetryClient;
+import com.aerospike.client.reactor.retry.RetryFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get, put and operate through the raw async client, the reactor client and the retry client.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SingleRecordBenchmark {
+
+	private final Key key = new Key("test", "bench", "key");
+	private final Bin bin = new Bin("bin", 1);
+	private final Operation[] operations = {Operation.add(bin), Operation.get("bin")};
+
+	private IAerospikeClient client;
+	private IAerospikeReactorClient reactorClient;
+	private IAerospikeReactorClient retryClient;
+
+	@Setup
+	public void setup() {
+		client = new StubAerospikeClient(0);
+		reactorClient = new AerospikeReactorClient(client);
+		retryClient = new AerospikeReactorRetryClient(reactorClient, RetryFactories.retryOnNoMoreConnections());
+	}
+
+	@Benchmark
+	public void getRaw(Blackhole blackhole) {
+		client.get(null, new Consumers.Records(blackhole), null, key);
+	}
+
+	@Benchmark
+	public void getReactor(Blackhole blackhole) {
+		reactorClient.get(key).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+
+	@Benchmark
+	public void getRetry(Blackhole blackhole) {
+		retryClient.get(key).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+
+	@Benchmark
+	public void putRaw(Blackhole blackhole) {
+		client.put(null, new Consumers.Writes(blackhole), null, key, bin);
+	}
+
+	@Benchmark
+	public void putReactor(Blackhole blackhole) {
+		reactorClient.put(key, bin).subscribe(new Consumers.Subscriber<Key>(blackhole));
+	}
+
+	@Benchmark
+	public void putRetry(Blackhole blackhole) {
+		retryClient.put(key, bin).subscribe(new Consumers.Subscriber<Key>(blackhole));
+	}
+
+	@Benchmark
+	public void operateRaw(Blackhole blackhole) {
+		client.operate(null, new Consumers.Records(blackhole), null, key, operations);
+	}
+
+	@Benchmark
+	public void operateReactor(Blackhole blackhole) {
+		reactorClient.operate(key, operations).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+
+	@Benchmark
+	public void operateRetry(Blackhole blackhole) {
+		retryClient.operate(key, operations).subscribe(new Consumers.Subscriber<KeyRecord>(blackhole));
+	}
+}
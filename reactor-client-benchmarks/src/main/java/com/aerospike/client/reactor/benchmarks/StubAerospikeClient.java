@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmarks;
+
+import com.aerospike.client.AerospikeClient;
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.listener.RecordArrayListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.ClientPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.policy.WritePolicy;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * In-process stand-in for a cluster. Every async command completes its listener
+ * synchronously on the calling thread, so benchmarks measure the client side only.
+ * <p>
+ * Only the async commands used by the benchmarks are implemented, as plain overrides
+ * without reflection, so the stub adds no allocation of its own to any variant.
+ * The client is never connected, all other commands fail.
+ */
+final class StubAerospikeClient extends AerospikeClient {
+
+	static final Record RECORD = new Record(Collections.singletonMap("bin", 1L), 1, 0);
+
+	private final Key[] scanKeys;
+
+	/**
+	 * @param scanRecords	number of records returned by a scan
+	 */
+	StubAerospikeClient(int scanRecords) {
+		super((ClientPolicy)null);
+		this.scanKeys = new Key[scanRecords];
+		for (int i = 0; i < scanRecords; i++) {
+			scanKeys[i] = new Key("test", "bench", i);
+		}
+	}
+
+	@Override
+	public void get(EventLoop eventLoop, RecordListener listener, Policy policy, Key key)
+		throws AerospikeException {
+		listener.onSuccess(key, RECORD);
+	}
+
+	@Override
+	public void get(EventLoop eventLoop, RecordListener listener, Policy policy, Key key, String... binNames)
+		throws AerospikeException {
+		listener.onSuccess(key, RECORD);
+	}
+
+	@Override
+	public void put(EventLoop eventLoop, WriteListener listener, WritePolicy policy, Key key, Bin... bins)
+		throws AerospikeException {
+		listener.onSuccess(key);
+	}
+
+	@Override
+	public void operate(EventLoop eventLoop, RecordListener listener, WritePolicy policy, Key key, Operation... operations)
+		throws AerospikeException {
+		listener.onSuccess(key, RECORD);
+	}
+
+	@Override
+	public void get(EventLoop eventLoop, RecordArrayListener listener, BatchPolicy policy, Key[] keys)
+		throws AerospikeException {
+		Record[] records = new Record[keys.length];
+		Arrays.fill(records, RECORD);
+		listener.onSuccess(keys, records);
+	}
+
+	@Override
+	public void get(EventLoop eventLoop, RecordSequenceListener listener, BatchPolicy policy, Key[] keys)
+		throws AerospikeException {
+		stream(listener, keys);
+	}
+
+	@Override
+	public void scanAll(EventLoop eventLoop, RecordSequenceListener listener, ScanPolicy policy,
+						String namespace, String setName, String... binNames) throws AerospikeException {
+		stream(listener, scanKeys);
+	}
+
+	private static void stream(RecordSequenceListener listener, Key[] keys) {
+		for (Key key : keys) {
+			listener.onRecord(key, RECORD);
+		}
+		listener.onSuccess();
+	}
+}
@@ -17,25 +17,60 @@
 package com.aerospike.client.reactor;
 
 import com.aerospike.client.*;
+import com.aerospike.client.Record;
 import com.aerospike.client.async.AsyncIndexTask;
 import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Cluster;
 import com.aerospike.client.cluster.Node;
+import com.aerospike.client.cluster.Partition;
 import com.aerospike.client.exp.Expression;
+import com.aerospike.client.listener.BatchRecordSequenceListener;
+import com.aerospike.client.listener.BatchSequenceListener;
+import com.aerospike.client.listener.DeleteListener;
+import com.aerospike.client.listener.ExistsListener;
+import com.aerospike.client.listener.ExistsSequenceListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
 import com.aerospike.client.policy.*;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
 import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.batching.AddCoalescer;
+import com.aerospike.client.reactor.batching.AutoBatchPolicy;
+import com.aerospike.client.reactor.batching.ReadBatcher;
+import com.aerospike.client.reactor.batching.ReadCollapser;
+import com.aerospike.client.reactor.batching.WriteBatcher;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.eventloop.EventLoopSelector;
+import com.aerospike.client.reactor.eventloop.EventLoopSelectors;
 import com.aerospike.client.reactor.listeners.*;
+import com.aerospike.client.reactor.publishers.BatchRecordSequenceFlux;
+import com.aerospike.client.reactor.publishers.BatchSequenceFlux;
+import com.aerospike.client.reactor.publishers.DeleteMono;
+import com.aerospike.client.reactor.publishers.ExistsMono;
+import com.aerospike.client.reactor.publishers.ExistsSequenceFlux;
+import com.aerospike.client.reactor.publishers.ListenerMono;
+import com.aerospike.client.reactor.publishers.RecordMono;
+import com.aerospike.client.reactor.publishers.RecordSequenceFlux;
+import com.aerospike.client.reactor.publishers.SequenceFlux;
+import com.aerospike.client.reactor.publishers.WriteMono;
 import com.aerospike.client.task.Task;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -65,12 +100,68 @@ import static java.util.Collections.singletonList;
 public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	private final IAerospikeClient aerospikeClient;
+	private final EventLoopSelector eventLoopSelector;
+	private final ReadBatcher readBatcher;
+	private final WriteBatcher writeBatcher;
+	private final AddCoalescer addCoalescer;
+	private final ReadCollapser readCollapser;
+	private final PolicyProfiles policyProfiles;
 
 	/**
 	 * @param aerospikeClient the {@link com.aerospike.client.AerospikeClient} instance
 	 */
 	public AerospikeReactorClient(IAerospikeClient aerospikeClient) {
+		this(aerospikeClient, EventLoopSelectors.clientDefault());
+	}
+
+	/**
+	 * @param aerospikeClient the {@link com.aerospike.client.AerospikeClient} instance
+	 * @param eventLoopSelector strategy used to pick the event loop for each command,
+	 *                          see {@link EventLoopSelectors} for the built-in ones
+	 */
+	public AerospikeReactorClient(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector) {
+		this(aerospikeClient, eventLoopSelector, null);
+	}
+
+	/**
+	 * @param aerospikeClient the {@link com.aerospike.client.AerospikeClient} instance
+	 * @param eventLoopSelector strategy used to pick the event loop for each command,
+	 *                          see {@link EventLoopSelectors} for the built-in ones
+	 * @param autoBatchPolicy enables automatic batching and collapsing of concurrent single-key commands,
+	 *                        disabled if null
+	 */
+	public AerospikeReactorClient(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector,
+								  AutoBatchPolicy autoBatchPolicy) {
+		this(aerospikeClient, eventLoopSelector, autoBatchPolicy, null);
+	}
+
+	/**
+	 * @param aerospikeClient the {@link com.aerospike.client.AerospikeClient} instance
+	 * @param eventLoopSelector strategy used to pick the event loop for each command,
+	 *                          see {@link EventLoopSelectors} for the built-in ones
+	 * @param autoBatchPolicy enables automatic batching and collapsing of concurrent single-key commands,
+	 *                        disabled if null
+	 * @param policyProfiles named policy profiles returned by {@link #getPolicyProfiles()}, none if null
+	 */
+	public AerospikeReactorClient(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector,
+								  AutoBatchPolicy autoBatchPolicy, PolicyProfiles policyProfiles) {
 		this.aerospikeClient = aerospikeClient;
+		this.eventLoopSelector = eventLoopSelector;
+		this.readBatcher = autoBatchPolicy != null && autoBatchPolicy.batchReads
+				? new ReadBatcher(aerospikeClient, eventLoopSelector, Schedulers.parallel(), autoBatchPolicy)
+				: null;
+		this.writeBatcher = autoBatchPolicy != null && autoBatchPolicy.batchWrites
+				? new WriteBatcher(aerospikeClient, eventLoopSelector, Schedulers.parallel(), autoBatchPolicy)
+				: null;
+		this.addCoalescer = autoBatchPolicy != null && autoBatchPolicy.coalesceAdds
+				? new AddCoalescer(aerospikeClient, eventLoopSelector, Schedulers.parallel(), autoBatchPolicy)
+				: null;
+		this.readCollapser = autoBatchPolicy != null && autoBatchPolicy.collapseReads
+				? new ReadCollapser()
+				: null;
+		this.policyProfiles = policyProfiles != null
+				? policyProfiles
+				: new PolicyProfiles(Collections.<String, Policy>emptyMap());
 	}
 
 	@Override
@@ -90,8 +181,25 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordListener(sink), policy, key, binNames));
+		Mono<KeyRecord> command;
+
+		if (policy == null && readBatcher != null) {
+			command = ListenerMono.assemble(new RecordMono() {
+				@Override
+				protected void execute(RecordListener listener) {
+					readBatcher.get(key, binNames, listener);
+				}
+			});
+		}
+		else {
+			command = ListenerMono.assemble(new RecordMono() {
+				@Override
+				protected void execute(RecordListener listener) {
+					aerospikeClient.get(eventLoopSelector.select(key), listener, policy, key, binNames);
+				}
+			});
+		}
+		return readCollapser != null ? readCollapser.get(policy, key, binNames, command) : command;
 	}
 
 	@Override
@@ -102,7 +210,41 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordArrayListener(sink), policy, keys));
+				eventLoopSelector.select(null), new ReactorRecordArrayListener(sink), policy, keys));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys,
+									   int maxBatchSize, int maxConcurrentBatchesPerNode) throws AerospikeException {
+		if (maxBatchSize <= 0) {
+			return Mono.error(new AerospikeException(ResultCode.PARAMETER_ERROR,
+					"Invalid maxBatchSize: " + maxBatchSize));
+		}
+		if (maxConcurrentBatchesPerNode <= 0) {
+			return Mono.error(new AerospikeException(ResultCode.PARAMETER_ERROR,
+					"Invalid maxConcurrentBatchesPerNode: " + maxConcurrentBatchesPerNode));
+		}
+		return Mono.defer(() -> {
+			Record[] records = new Record[keys.length];
+
+			return Flux.fromIterable(groupByNode(policy, keys))
+					.flatMap(positions -> Flux.range(0, (positions.size() + maxBatchSize - 1) / maxBatchSize)
+							.flatMap(chunk -> {
+								List<Integer> chunkPositions = positions.subList(chunk * maxBatchSize,
+										Math.min((chunk + 1) * maxBatchSize, positions.size()));
+								Key[] chunkKeys = new Key[chunkPositions.size()];
+
+								for (int i = 0; i < chunkKeys.length; i++) {
+									chunkKeys[i] = keys[chunkPositions.get(i)];
+								}
+								return get(policy, chunkKeys).doOnNext(keysRecords -> {
+									for (int i = 0; i < chunkKeys.length; i++) {
+										records[chunkPositions.get(i)] = keysRecords.records[i];
+									}
+								});
+							}, maxConcurrentBatchesPerNode), Integer.MAX_VALUE)
+					.then(Mono.fromCallable(() -> new KeysRecords(keys, records)));
+		});
 	}
 
 	@Override
@@ -113,7 +255,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorBatchListListener(sink), policy, records));
+				eventLoopSelector.select(null), new ReactorBatchListListener(sink), policy, records));
 	}
 
 	@Override
@@ -124,7 +266,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordArrayListener(sink), policy, keys, operations));
+				eventLoopSelector.select(null), new ReactorRecordArrayListener(sink), policy, keys, operations));
 	}
 
 	@Override
@@ -134,8 +276,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorBatchSequenceListener(sink), policy, records));
+		return SequenceFlux.assemble(new BatchSequenceFlux() {
+			@Override
+			protected void execute(BatchSequenceListener listener) {
+				aerospikeClient.get(eventLoopSelector.select(null), listener, policy, records);
+			}
+		});
 	}
 
 	@Override
@@ -145,8 +291,38 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordSequenceListener(sink), policy, keys));
+		return SequenceFlux.assemble(new RecordSequenceFlux() {
+			@Override
+			protected void execute(RecordSequenceListener listener) {
+				aerospikeClient.get(eventLoopSelector.select(null), listener, policy, keys);
+			}
+		});
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getFlux(null, keys, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Publisher<Key> keys,
+									int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(keys)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> getFlux(policy, batch.toArray(new Key[0])), maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getBatchReadFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(BatchPolicy policy, Publisher<BatchRead> records,
+											 int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(records)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> getFlux(policy, batch), maxConcurrentBatches);
 	}
 
 	@Override
@@ -156,8 +332,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordSequenceListener(sink), policy, keys, operations));
+		return SequenceFlux.assemble(new RecordSequenceFlux() {
+			@Override
+			protected void execute(RecordSequenceListener listener) {
+				aerospikeClient.get(eventLoopSelector.select(null), listener, policy, keys, operations);
+			}
+		});
 	}
 
 	@Override
@@ -167,8 +347,13 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.getHeader(
-				null, new ReactorRecordListener(sink), policy, key));
+		Mono<KeyRecord> command = ListenerMono.assemble(new RecordMono() {
+			@Override
+			protected void execute(RecordListener listener) {
+				aerospikeClient.getHeader(eventLoopSelector.select(key), listener, policy, key);
+			}
+		});
+		return readCollapser != null ? readCollapser.getHeader(policy, key, command) : command;
 	}
 
 	@Override
@@ -179,7 +364,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.getHeader(
-				null, new ReactorRecordArrayListener(sink),
+				eventLoopSelector.select(null), new ReactorRecordArrayListener(sink),
 				policy, keys));
 	}
 
@@ -190,8 +375,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.touch(
-				null, new ReactorWriteListener(sink), policy, key));
+		return ListenerMono.assemble(new WriteMono() {
+			@Override
+			protected void execute(WriteListener listener) {
+				aerospikeClient.touch(eventLoopSelector.select(key), listener, policy, key);
+			}
+		});
 	}
 
 	@Override
@@ -201,8 +390,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsListener(sink), policy, key));
+		return ListenerMono.assemble(new ExistsMono() {
+			@Override
+			protected void execute(ExistsListener listener) {
+				aerospikeClient.exists(eventLoopSelector.select(key), listener, policy, key);
+			}
+		});
 	}
 
 	@Override
@@ -213,7 +406,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
 		return Mono.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsArrayListener(sink), policy, keys));
+				eventLoopSelector.select(null), new ReactorExistsArrayListener(sink), policy, keys));
 	}
 
 	@Override
@@ -223,8 +416,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsSequenceListener(sink), policy, keys));
+		return SequenceFlux.assemble(new ExistsSequenceFlux() {
+			@Override
+			protected void execute(ExistsSequenceListener listener) {
+				aerospikeClient.exists(eventLoopSelector.select(null), listener, policy, keys);
+			}
+		});
 	}
 
 	@Override
@@ -234,8 +431,20 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.put(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+		if (policy == null && writeBatcher != null) {
+			return ListenerMono.assemble(new WriteMono() {
+				@Override
+				protected void execute(WriteListener listener) {
+					writeBatcher.put(key, bins, listener);
+				}
+			});
+		}
+		return ListenerMono.assemble(new WriteMono() {
+			@Override
+			protected void execute(WriteListener listener) {
+				aerospikeClient.put(eventLoopSelector.select(key), listener, policy, key, bins);
+			}
+		});
 	}
 
 	@Override
@@ -245,8 +454,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.append(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+		return ListenerMono.assemble(new WriteMono() {
+			@Override
+			protected void execute(WriteListener listener) {
+				aerospikeClient.append(eventLoopSelector.select(key), listener, policy, key, bins);
+			}
+		});
 	}
 
 	@Override
@@ -256,8 +469,12 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.prepend(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+		return ListenerMono.assemble(new WriteMono() {
+			@Override
+			protected void execute(WriteListener listener) {
+				aerospikeClient.prepend(eventLoopSelector.select(key), listener, policy, key, bins);
+			}
+		});
 	}
 
 	@Override
@@ -267,8 +484,28 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.add(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+		if (policy == null && addCoalescer != null && AddCoalescer.canCoalesce(bins)) {
+			return ListenerMono.assemble(new WriteMono() {
+				@Override
+				protected void execute(WriteListener listener) {
+					addCoalescer.add(key, bins, listener);
+				}
+			});
+		}
+		if (policy == null && writeBatcher != null) {
+			return ListenerMono.assemble(new WriteMono() {
+				@Override
+				protected void execute(WriteListener listener) {
+					writeBatcher.add(key, bins, listener);
+				}
+			});
+		}
+		return ListenerMono.assemble(new WriteMono() {
+			@Override
+			protected void execute(WriteListener listener) {
+				aerospikeClient.add(eventLoopSelector.select(key), listener, policy, key, bins);
+			}
+		});
 	}
 
 	@Override
@@ -278,15 +515,27 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.delete(
-				null, new ReactorDeleteListener(sink), policy, key));
+		if (policy == null && writeBatcher != null) {
+			return ListenerMono.assemble(new DeleteMono() {
+				@Override
+				protected void execute(DeleteListener listener) {
+					writeBatcher.delete(key, listener);
+				}
+			});
+		}
+		return ListenerMono.assemble(new DeleteMono() {
+			@Override
+			protected void execute(DeleteListener listener) {
+				aerospikeClient.delete(eventLoopSelector.select(key), listener, policy, key);
+			}
+		});
 	}
 
 	@Override
 	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
 									 Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.delete(
-				null, new ReactorBatchRecordArrayListener(sink), batchPolicy, deletePolicy, keys));
+				eventLoopSelector.select(null), new ReactorBatchRecordArrayListener(sink), batchPolicy, deletePolicy, keys));
 	}
 
 	@Override
@@ -296,33 +545,96 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
-		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorRecordListener(sink), policy, key, operations));
+		if (policy == null && writeBatcher != null && WriteBatcher.hasWrite(operations)) {
+			return ListenerMono.assemble(new RecordMono() {
+				@Override
+				protected void execute(RecordListener listener) {
+					writeBatcher.operate(key, operations, listener);
+				}
+			});
+		}
+		return ListenerMono.assemble(new RecordMono() {
+			@Override
+			protected void execute(RecordListener listener) {
+				aerospikeClient.operate(eventLoopSelector.select(key), listener, policy, key, operations);
+			}
+		});
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, Object... values) throws AerospikeException {
+		return operate(null, key, template, values);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, Object... values)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(values));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, long value) throws AerospikeException {
+		return operate(null, key, template, value);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, long value)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(value));
 	}
 
 	@Override
 	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
 									  Operation... ops) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorBatchRecordArrayListener(sink), batchPolicy, writePolicy, keys, ops));
+				eventLoopSelector.select(null), new ReactorBatchRecordArrayListener(sink), batchPolicy, writePolicy, keys, ops));
 	}
 
 	@Override
 	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorBatchOperateListListener(sink), policy, records));
+				eventLoopSelector.select(null), new ReactorBatchOperateListListener(sink), policy, records));
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(List<BatchRecord> records) throws AerospikeException {
+		return operateFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return SequenceFlux.assemble(new BatchRecordSequenceFlux() {
+			@Override
+			protected void execute(BatchRecordSequenceListener listener) {
+				aerospikeClient.operate(eventLoopSelector.select(null), listener, policy, records);
+			}
+		});
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return operateFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(records)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> operateFlux(policy, batch), maxConcurrentBatches);
 	}
 
 	@Override
 	public Mono<CommitStatus> commit(Txn txn) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.commit(
-				null, new ReactorCommitListener(sink), txn));
+				eventLoopSelector.select(null), new ReactorCommitListener(sink), txn));
 	}
 
 	@Override
 	public Mono<AbortStatus> abort(Txn txn) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.abort(
-				null, new ReactorAbortListener(sink), txn));
+				eventLoopSelector.select(null), new ReactorAbortListener(sink), txn));
 	}
 
 	@Override
@@ -332,8 +644,36 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.query(
-				null, new ReactorRecordSequenceListener(sink), policy, statement));
+		return SequenceFlux.assemble(new RecordSequenceFlux() {
+			@Override
+			protected void execute(RecordSequenceListener listener) {
+				aerospikeClient.query(eventLoopSelector.select(null), listener, policy, statement);
+			}
+		});
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(int maxPageSize, Statement statement) throws AerospikeException {
+		return queryPaged(null, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(QueryPolicy policy, int maxPageSize, Statement statement) throws AerospikeException {
+		if (statement.getFunctionName() != null) {
+			return Flux.error(new AerospikeException(ResultCode.PARAMETER_ERROR,
+					"Aggregation query can't be paged"));
+		}
+		return Flux.create(sink -> {
+			QueryPolicy pagePolicy = policy != null ? policy : aerospikeClient.getQueryPolicyDefault();
+			Statement pageStatement = copyStatement(statement);
+			PartitionFilter partitionFilter = PartitionFilter.all();
+			new ReactorPagedRecordSequenceListener(sink, partitionFilter, maxPageSize,
+					(listener, maxRecords) -> {
+						pageStatement.setMaxRecords(maxRecords);
+						aerospikeClient.queryPartitions(eventLoopSelector.select(null), listener,
+								pagePolicy, pageStatement, partitionFilter);
+					}).start();
+		});
 	}
 
 	@Override
@@ -343,9 +683,32 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
-		return Flux.create(sink -> aerospikeClient.scanAll(
-				null, new ReactorRecordSequenceListener(sink),
-				policy, namespace, setName, binNames));
+		return SequenceFlux.assemble(new RecordSequenceFlux() {
+			@Override
+			protected void execute(RecordSequenceListener listener) {
+				aerospikeClient.scanAll(eventLoopSelector.select(null), listener, policy, namespace, setName, binNames);
+			}
+		});
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(int maxPageSize, String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAllPaged(null, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(ScanPolicy policy, int maxPageSize,
+											  String namespace, String setName, String... binNames) throws AerospikeException {
+		return Flux.create(sink -> {
+			ScanPolicy pagePolicy = new ScanPolicy(policy != null ? policy : aerospikeClient.getScanPolicyDefault());
+			PartitionFilter partitionFilter = PartitionFilter.all();
+			new ReactorPagedRecordSequenceListener(sink, partitionFilter, maxPageSize,
+					(listener, maxRecords) -> {
+						pagePolicy.maxRecords = maxRecords;
+						aerospikeClient.scanPartitions(eventLoopSelector.select(null), listener,
+								pagePolicy, partitionFilter, namespace, setName, binNames);
+					}).start();
+		});
 	}
 
 	@Override
@@ -357,10 +720,30 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
 								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.execute(
-				null, new ReactorExecuteListener(sink),
+				eventLoopSelector.select(key), new ReactorExecuteListener(sink),
 				policy, key, packageName, functionName, functionArgs));
 	}
 
+	@Override
+	public final Mono<BatchResults> execute(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return Mono.create(sink -> aerospikeClient.execute(
+				eventLoopSelector.select(null), new ReactorBatchRecordArrayListener(sink),
+				batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public final Flux<BatchRecord> executeFlux(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return SequenceFlux.assemble(new BatchRecordSequenceFlux() {
+			@Override
+			protected void execute(BatchRecordSequenceListener listener) {
+				aerospikeClient.execute(eventLoopSelector.select(null), listener,
+						batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs);
+			}
+		});
+	}
+
 	@Override
 	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
 		return info(infoPolicy, node, singletonList(command))
@@ -376,7 +759,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
-		return Mono.create(sink -> aerospikeClient.info(null,
+		return Mono.create(sink -> aerospikeClient.info(eventLoopSelector.select(null),
 				new ReactorInfoListener(sink), infoPolicy, node, commands.toArray(new String[0])));
     }
 
@@ -386,26 +769,25 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
 		return waitTillComplete(
 				createIndexImpl(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx),
-				policy != null ? new InfoPolicy(policy) : aerospikeClient.getInfoPolicyDefault());
+				infoPolicy(policy));
 	}
 
     @Override
     public Mono<Void> createIndex(Policy policy, String namespace, String setName, String indexName,
                                   IndexType indexType, IndexCollectionType indexCollectionType, Expression expression) {
         Mono<AsyncIndexTask> asyncIndexTask = Mono.create(
-                sink -> aerospikeClient.createIndex(null,
+                sink -> aerospikeClient.createIndex(eventLoopSelector.select(null),
                         new ReactorIndexListener(sink), policy, namespace, setName, indexName, indexType,
                         indexCollectionType, expression)
         );
-        return waitTillComplete(
-                asyncIndexTask, policy != null ? new InfoPolicy(policy) : aerospikeClient.getInfoPolicyDefault());
+        return waitTillComplete(asyncIndexTask, infoPolicy(policy));
     }
 
     @Override
 	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
 		return waitTillComplete(
 				dropIndexImpl(policy, namespace, setName, indexName),
-				policy != null ? new InfoPolicy(policy) : aerospikeClient.getInfoPolicyDefault());
+				infoPolicy(policy));
 	}
 
 	@Override
@@ -413,21 +795,65 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 		return aerospikeClient;
 	}
 
+	@Override
+	public PolicyProfiles getPolicyProfiles() {
+		return policyProfiles;
+	}
+
+	/**
+	 * Info policy for polling an index task, shared if the policy belongs to a profile.
+	 */
+	private InfoPolicy infoPolicy(Policy policy) {
+		if (policy == null) {
+			return aerospikeClient.getInfoPolicyDefault();
+		}
+		InfoPolicy infoPolicy = policyProfiles.infoPolicyOf(policy);
+		return infoPolicy != null ? infoPolicy : new InfoPolicy(policy);
+	}
+
 	@SuppressWarnings("java:S107")
 	private Mono<AsyncIndexTask> createIndexImpl(Policy policy,
 											 String namespace, String setName, String indexName, String binName,
 											 IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
-		return Mono.create(sink -> aerospikeClient.createIndex(null,
+		return Mono.create(sink -> aerospikeClient.createIndex(eventLoopSelector.select(null),
 				new ReactorIndexListener(sink), policy, namespace, setName, indexName, binName,
 				indexType, indexCollectionType, ctx));
 	}
 
 	private Mono<AsyncIndexTask> dropIndexImpl(Policy policy,
 												 String namespace, String setName, String indexName){
-		return  Mono.create(sink -> aerospikeClient.dropIndex(null,
+		return  Mono.create(sink -> aerospikeClient.dropIndex(eventLoopSelector.select(null),
 				new ReactorIndexListener(sink), policy, namespace, setName, indexName));
 	}
 
+	/**
+	 * Group key positions by the node owning the key's partition, using the policy's replica setting.
+	 */
+	private Collection<List<Integer>> groupByNode(BatchPolicy policy, Key[] keys) {
+		Cluster cluster = aerospikeClient.getCluster();
+		BatchPolicy readPolicy = policy != null ? policy : aerospikeClient.getBatchPolicyDefault();
+		Map<Node, List<Integer>> positionsByNode = new HashMap<>();
+
+		for (int i = 0; i < keys.length; i++) {
+			Node node = Partition.read(cluster, readPolicy, keys[i]).getNodeRead(cluster);
+			positionsByNode.computeIfAbsent(node, n -> new ArrayList<>()).add(i);
+		}
+		return positionsByNode.values();
+	}
+
+	private static Statement copyStatement(Statement statement) {
+		Statement copy = new Statement();
+		copy.setNamespace(statement.getNamespace());
+		copy.setSetName(statement.getSetName());
+		copy.setIndexName(statement.getIndexName());
+		copy.setBinNames(statement.getBinNames());
+		copy.setFilter(statement.getFilter());
+		copy.setTaskId(statement.getTaskId());
+		copy.setRecordsPerSecond(statement.getRecordsPerSecond());
+		copy.setOperations(statement.getOperations());
+		return copy;
+	}
+
 	private Mono<Void> waitTillComplete(Mono<AsyncIndexTask> asyncIndexTaskMono, InfoPolicy infoPolicy){
 		 return asyncIndexTaskMono.flatMapMany(indexTask ->
 				Flux.fromArray(aerospikeClient.getNodes())
@@ -440,7 +866,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	}
 
 	private Mono<Integer> queryIndexStatus(InfoPolicy infoPolicy, AsyncIndexTask indexTask, Node node){
-		return Mono.create(sink -> indexTask.queryStatus(null, infoPolicy, node,
+		return Mono.create(sink -> indexTask.queryStatus(eventLoopSelector.select(null), infoPolicy, node,
 				new ReactorTaskStatusListener(sink)));
 	}
 
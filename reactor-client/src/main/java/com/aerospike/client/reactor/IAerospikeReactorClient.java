@@ -29,10 +29,12 @@ import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -77,6 +79,27 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException;
 
+	/**
+	 * Reactively read multiple records for specified keys in several batch calls.
+	 * <p>
+	 * Keys are grouped by the node owning their partition and each node's keys are sent
+	 * in batch calls of at most <code>maxBatchSize</code> keys, with at most
+	 * <code>maxConcurrentBatchesPerNode</code> calls in flight per node. This keeps very
+	 * large key arrays under server batch size limits and prevents one slow node from
+	 * holding back the keys of the other nodes.
+	 * <p>
+	 * The returned records are in positional order with the original key array order.
+	 * If a key is not found, the positional record will be null.
+	 *
+	 * @param policy						batch configuration parameters, pass in null for defaults
+	 * @param keys							array of unique record identifiers
+	 * @param maxBatchSize					maximum number of keys per batch call, must be positive
+	 * @param maxConcurrentBatchesPerNode	maximum number of batch calls in flight per node, must be positive
+	 * @throws AerospikeException	if event loop registration fails, or emitted with
+	 * 								{@link com.aerospike.client.ResultCode#PARAMETER_ERROR} for invalid limits
+	 */
+	Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, int maxBatchSize, int maxConcurrentBatchesPerNode) throws AerospikeException;
+
 	/**
 	 * Reactively read entire record for specified key.
 	 * This method registers the command with an event loop and returns.
@@ -229,6 +252,77 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException;
 
+	/**
+	 * Reactively read records for a stream of keys.
+	 * <p>
+	 * Incoming keys are grouped into batches of up to <code>batchSize</code> keys and each
+	 * batch is read with one batch call. A batch that is not full is sent once its first key
+	 * has waited <code>maxWait</code>, so slow key streams are not held back.
+	 * At most <code>maxConcurrentBatches</code> batches are in flight, so memory stays
+	 * bounded for unbounded key streams.
+	 * Records are emitted as they arrive and may be reordered across batches.
+	 * If a key is not found, the record will be null.
+	 *
+	 * @param keys					stream of unique record identifiers
+	 * @param batchSize				maximum number of keys per batch call
+	 * @param maxWait				maximum time a key waits for its batch to fill up
+	 * @param maxConcurrentBatches	maximum number of batch calls in flight
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> getFlux(Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
+	/**
+	 * Reactively read records for a stream of keys.
+	 * <p>
+	 * Incoming keys are grouped into batches of up to <code>batchSize</code> keys and each
+	 * batch is read with one batch call. A batch that is not full is sent once its first key
+	 * has waited <code>maxWait</code>, so slow key streams are not held back.
+	 * At most <code>maxConcurrentBatches</code> batches are in flight, so memory stays
+	 * bounded for unbounded key streams.
+	 * Records are emitted as they arrive and may be reordered across batches.
+	 * If a key is not found, the record will be null.
+	 * The policy can be used to specify timeouts.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param keys					stream of unique record identifiers
+	 * @param batchSize				maximum number of keys per batch call
+	 * @param maxWait				maximum time a key waits for its batch to fill up
+	 * @param maxConcurrentBatches	maximum number of batch calls in flight
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> getFlux(BatchPolicy policy, Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
+	/**
+	 * Reactively read records for a stream of batch reads.
+	 * <p>
+	 * Same as {@link #getFlux(Publisher, int, Duration, int)} but allows different namespaces/bins
+	 * to be requested for each key. If the BatchRead key field is not found,
+	 * the corresponding record field will be null.
+	 *
+	 * @param records				stream of unique record identifiers and the bins to retrieve
+	 * @param batchSize				maximum number of records per batch call
+	 * @param maxWait				maximum time a record waits for its batch to fill up
+	 * @param maxConcurrentBatches	maximum number of batch calls in flight
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<BatchRead> getBatchReadFlux(Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
+	/**
+	 * Reactively read records for a stream of batch reads.
+	 * <p>
+	 * Same as {@link #getFlux(BatchPolicy, Publisher, int, Duration, int)} but allows different namespaces/bins
+	 * to be requested for each key. If the BatchRead key field is not found,
+	 * the corresponding record field will be null.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param records				stream of unique record identifiers and the bins to retrieve
+	 * @param batchSize				maximum number of records per batch call
+	 * @param maxWait				maximum time a record waits for its batch to fill up
+	 * @param maxConcurrentBatches	maximum number of batch calls in flight
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<BatchRead> getBatchReadFlux(BatchPolicy policy, Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
 	/**
 	 * Reactively read multiple records for specified keys using read operations in one batch call.
 	 * This method registers the command with an event loop and returns.
@@ -605,6 +699,58 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException;
 
+	/**
+	 * Reactively perform the operations of a template on a single key, binding the template's
+	 * parameters to the given values.
+	 *
+	 * @param key					unique record identifier
+	 * @param template				prebuilt operations, see {@link OperationTemplate}
+	 * @param values				values of the template's parameters, in order
+	 * @throws AerospikeException	if the values do not match the template's parameters
+	 * 								or event loop registration fails
+	 */
+	Mono<KeyRecord> operate(Key key, OperationTemplate template, Object... values) throws AerospikeException;
+
+	/**
+	 * Reactively perform the operations of a template on a single key, binding the template's
+	 * parameters to the given values.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param template				prebuilt operations, see {@link OperationTemplate}
+	 * @param values				values of the template's parameters, in order
+	 * @throws AerospikeException	if the values do not match the template's parameters
+	 * 								or event loop registration fails
+	 */
+	Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, Object... values)
+			throws AerospikeException;
+
+	/**
+	 * Reactively perform the operations of a template with a single integer parameter on a
+	 * single key, without boxing the value.
+	 *
+	 * @param key					unique record identifier
+	 * @param template				prebuilt operations, see {@link OperationTemplate}
+	 * @param value					value of the template's only parameter
+	 * @throws AerospikeException	if the template does not take exactly one integer
+	 * 								or event loop registration fails
+	 */
+	Mono<KeyRecord> operate(Key key, OperationTemplate template, long value) throws AerospikeException;
+
+	/**
+	 * Reactively perform the operations of a template with a single integer parameter on a
+	 * single key, without boxing the value.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param template				prebuilt operations, see {@link OperationTemplate}
+	 * @param value					value of the template's only parameter
+	 * @throws AerospikeException	if the template does not take exactly one integer
+	 * 								or event loop registration fails
+	 */
+	Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, long value)
+			throws AerospikeException;
+
     /**
      * Asynchronously perform read/write operations on multiple keys.
      * This method registers the command with an event loop and returns.
@@ -645,6 +791,75 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
      */
     Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException;
 
+    /**
+     * Reactively read/write multiple records for specified batch keys in one batch call.
+     * This method registers the command with an event loop and returns.
+     * The event loop thread will process the command and send the results to the listener.
+     * <p>
+     * Each record is emitted with its result code as soon as it completes.
+     * <p>
+     * Requires server version 6.0+
+     *
+     * @param records list of unique record identifiers and read/write operations
+     * @throws AerospikeException if event loop registration fails
+     */
+    Flux<BatchRecord> operateFlux(List<BatchRecord> records) throws AerospikeException;
+
+    /**
+     * Reactively read/write multiple records for specified batch keys in one batch call.
+     * This method registers the command with an event loop and returns.
+     * The event loop thread will process the command and send the results to the listener.
+     * <p>
+     * Each record is emitted with its result code as soon as it completes.
+     * <p>
+     * Requires server version 6.0+
+     *
+     * @param policy  batch configuration parameters, pass in null for defaults
+     * @param records list of unique record identifiers and read/write operations
+     * @throws AerospikeException if event loop registration fails
+     */
+    Flux<BatchRecord> operateFlux(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException;
+
+    /**
+     * Reactively read/write a stream of records.
+     * <p>
+     * Incoming records are grouped into batches of up to <code>batchSize</code> records and each
+     * batch is sent with one batch call. A batch that is not full is sent once its first record
+     * has waited <code>maxWait</code>, so writes are not held back while the source is idle.
+     * At most <code>maxConcurrentBatches</code> batches are in flight. Each record is emitted with
+     * its result code as soon as it completes and may be reordered across batches.
+     * <p>
+     * Requires server version 6.0+
+     *
+     * @param records              stream of unique record identifiers and read/write operations
+     * @param batchSize            maximum number of records per batch call
+     * @param maxWait              maximum time a record waits for its batch to fill up
+     * @param maxConcurrentBatches maximum number of batch calls in flight
+     * @throws AerospikeException if event loop registration fails
+     */
+    Flux<BatchRecord> operateFlux(Publisher<BatchRecord> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
+    /**
+     * Reactively read/write a stream of records.
+     * <p>
+     * Incoming records are grouped into batches of up to <code>batchSize</code> records and each
+     * batch is sent with one batch call. A batch that is not full is sent once its first record
+     * has waited <code>maxWait</code>, so writes are not held back while the source is idle.
+     * At most <code>maxConcurrentBatches</code> batches are in flight. Each record is emitted with
+     * its result code as soon as it completes and may be reordered across batches.
+     * <p>
+     * Requires server version 6.0+
+     *
+     * @param policy               batch configuration parameters, pass in null for defaults
+     * @param records              stream of unique record identifiers and read/write operations
+     * @param batchSize            maximum number of records per batch call
+     * @param maxWait              maximum time a record waits for its batch to fill up
+     * @param maxConcurrentBatches maximum number of batch calls in flight
+     * @throws AerospikeException if event loop registration fails
+     */
+    Flux<BatchRecord> operateFlux(BatchPolicy policy, Publisher<BatchRecord> records,
+                                  int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException;
+
 	/**
 	 * Asynchronously attempt to commit the given multi-record transaction. First, the expected
 	 * record versions are sent to the server nodes for verification. If all nodes return success,
@@ -694,6 +909,41 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException;
 
+	/**
+	 * Reactively execute query on all server nodes, pacing the query by subscriber demand.
+	 * <p>
+	 * Partitions are queried page by page. Each page is sized from the outstanding downstream
+	 * request (capped by <code>maxPageSize</code>, the high-water mark of records held
+	 * by the client) and the next page is requested only after the previous one completed.
+	 * Aggregation queries are not supported.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the flux.
+	 *
+	 * @param maxPageSize			maximum number of records requested from the server per page
+	 * @param statement				database query command, its <code>maxRecords</code> is overridden by the page size
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> queryPaged(int maxPageSize, Statement statement) throws AerospikeException;
+
+	/**
+	 * Reactively execute query on all server nodes, pacing the query by subscriber demand.
+	 * <p>
+	 * Partitions are queried page by page. Each page is sized from the outstanding downstream
+	 * request (capped by <code>maxPageSize</code>, the high-water mark of records held
+	 * by the client) and the next page is requested only after the previous one completed.
+	 * Aggregation queries are not supported.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the flux.
+	 *
+	 * @param policy				query configuration parameters, pass in null for defaults
+	 * @param maxPageSize			maximum number of records requested from the server per page
+	 * @param statement				database query command, its <code>maxRecords</code> is overridden by the page size
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> queryPaged(QueryPolicy policy, int maxPageSize, Statement statement) throws AerospikeException;
+
 	/**
 	 * Reactively read all records in specified namespace and set.  If the policy's
 	 * <code>concurrentNodes</code> is specified, each server node will be read in
@@ -727,6 +977,45 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException;
 
+	/**
+	 * Reactively read all records in specified namespace and set, pacing the scan by subscriber demand.
+	 * <p>
+	 * Partitions are read page by page. Each page is sized from the outstanding downstream
+	 * request (capped by <code>maxPageSize</code>) and the next page is requested only after
+	 * the previous one completed, so client memory is bounded by demand instead of set size.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the listener.
+	 *
+	 * @param maxPageSize			maximum number of records requested from the server per page
+	 * @param namespace				namespace - equivalent to database name
+	 * @param setName				optional set name - equivalent to database table
+	 * @param binNames				optional bin to retrieve. All bins will be returned if not specified.
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> scanAllPaged(int maxPageSize, String namespace, String setName, String... binNames) throws AerospikeException;
+
+	/**
+	 * Reactively read all records in specified namespace and set, pacing the scan by subscriber demand.
+	 * <p>
+	 * Partitions are read page by page. Each page is sized from the outstanding downstream
+	 * request (capped by <code>maxPageSize</code>) and the next page is requested only after
+	 * the previous one completed, so client memory is bounded by demand instead of set size.
+	 * The policy's <code>maxRecords</code> is overridden by the page size.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the listener.
+	 *
+	 * @param policy				scan configuration parameters, pass in null for defaults
+	 * @param maxPageSize			maximum number of records requested from the server per page
+	 * @param namespace				namespace - equivalent to database name
+	 * @param setName				optional set name - equivalent to database table
+	 * @param binNames				optional bin to retrieve. All bins will be returned if not specified.
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> scanAllPaged(ScanPolicy policy, int maxPageSize,
+								 String namespace, String setName, String... binNames) throws AerospikeException;
+
 	/**
 	 * Reactively execute user defined function on server.
 	 * This method registers the command with an event loop and returns.
@@ -766,6 +1055,51 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	Mono<KeyObject> execute(WritePolicy policy, Key key,
 								   String packageName, String functionName, Value... functionArgs) throws AerospikeException;
 
+	/**
+	 * Reactively execute user defined function on server for each key in one batch call.
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the listener.
+	 * <p>
+	 * The package name is used to locate the udf file location:
+	 * <p>
+	 * udf file = <server udf dir>/<package name>.lua
+	 * <p>
+	 * Requires server version 6.0+
+	 *
+	 * @param batchPolicy			batch configuration parameters, pass in null for defaults
+	 * @param udfPolicy				udf configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @param packageName			server package name where user defined function resides
+	 * @param functionName			user defined function
+	 * @param functionArgs			arguments passed in to user defined function
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Mono<BatchResults> execute(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+							   String packageName, String functionName, Value... functionArgs) throws AerospikeException;
+
+	/**
+	 * Reactively execute user defined function on server for each key in one batch call.
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the listener.
+	 * <p>
+	 * Each record is emitted with its result code as soon as it completes.
+	 * The package name is used to locate the udf file location:
+	 * <p>
+	 * udf file = <server udf dir>/<package name>.lua
+	 * <p>
+	 * Requires server version 6.0+
+	 *
+	 * @param batchPolicy			batch configuration parameters, pass in null for defaults
+	 * @param udfPolicy				udf configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @param packageName			server package name where user defined function resides
+	 * @param functionName			user defined function
+	 * @param functionArgs			arguments passed in to user defined function
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<BatchRecord> executeFlux(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+								  String packageName, String functionName, Value... functionArgs) throws AerospikeException;
+
 	/**
 	 * Reactively access server's info monitoring protocol.
 	 * <p>
@@ -852,4 +1186,9 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 * Return the original non-reactive Aerospike Client
 	 */
 	IAerospikeClient getAerospikeClient();
+
+	/**
+	 * Return the named policy profiles of this client, see {@link PolicyProfiles}.
+	 */
+	PolicyProfiles getPolicyProfiles();
 }
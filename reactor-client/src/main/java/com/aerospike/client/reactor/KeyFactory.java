@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.Key;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Creates {@link Key}s, reusing recently created keys so repeated user keys do not compute
+ * their RIPEMD-160 digest again.
+ * <p>
+ * The cache is a direct-mapped table. A new key replaces whatever key occupied its slot, so
+ * the cache never holds more than its capacity and needs no eviction bookkeeping. Slots hold
+ * immutable entries, so neither lookups nor replacements take a lock. Lookups of {@code long}
+ * user keys neither box the key nor allocate on a hit.
+ * <p>
+ * Keys are immutable and safe to share between threads and commands.
+ */
+public final class KeyFactory {
+
+	private final AtomicReferenceArray<Entry> slots;
+	private final int slotMask;
+
+	/**
+	 * @param maxEntries	capacity of the cache, rounded up to a power of two
+	 */
+	public KeyFactory(int maxEntries) {
+		int size = Integer.highestOneBit(Math.min(Math.max(maxEntries, 1), 1 << 30) * 2 - 1);
+		this.slots = new AtomicReferenceArray<>(size);
+		this.slotMask = size - 1;
+	}
+
+	/**
+	 * Return the key of a string user key.
+	 */
+	public Key key(String namespace, String setName, String userKey) {
+		int slot = spread(hash(namespace, setName) * 31 + userKey.hashCode()) & slotMask;
+		Entry entry = slots.get(slot);
+
+		if (entry != null && userKey.equals(entry.stringKey) && entry.matches(namespace, setName)) {
+			return entry.key;
+		}
+		Key key = new Key(namespace, setName, userKey);
+		slots.set(slot, new Entry(namespace, setName, userKey, 0, key));
+		return key;
+	}
+
+	/**
+	 * Return the key of an integer user key.
+	 */
+	public Key key(String namespace, String setName, long userKey) {
+		int slot = spread(hash(namespace, setName) * 31 + Long.hashCode(userKey)) & slotMask;
+		Entry entry = slots.get(slot);
+
+		if (entry != null && entry.stringKey == null && entry.longKey == userKey && entry.matches(namespace, setName)) {
+			return entry.key;
+		}
+		Key key = new Key(namespace, setName, userKey);
+		slots.set(slot, new Entry(namespace, setName, null, userKey, key));
+		return key;
+	}
+
+	private static int hash(String namespace, String setName) {
+		return namespace.hashCode() * 31 + Objects.hashCode(setName);
+	}
+
+	/**
+	 * Spread the hash so the slot bits depend on the whole user key.
+	 */
+	private static int spread(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		return hash;
+	}
+
+	private static final class Entry {
+		final String namespace;
+		final String setName;
+		// Null for long user keys.
+		final String stringKey;
+		final long longKey;
+		final Key key;
+
+		Entry(String namespace, String setName, String stringKey, long longKey, Key key) {
+			this.namespace = namespace;
+			this.setName = setName;
+			this.stringKey = stringKey;
+			this.longKey = longKey;
+			this.key = key;
+		}
+
+		boolean matches(String namespace, String setName) {
+			return this.namespace.equals(namespace) && Objects.equals(this.setName, setName);
+		}
+	}
+}
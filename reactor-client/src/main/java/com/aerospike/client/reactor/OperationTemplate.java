@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Operation;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operation list of a fixed shape, validated and built once and reused for many
+ * {@code operate} calls. Fixed operations, like reads or a touch, are shared between calls.
+ * Parameter operations take their value from the arguments of each call, in the order the
+ * parameters were added.
+ * <pre>
+ * OperationTemplate template = OperationTemplate.builder()
+ *     .add("counter")
+ *     .operation(Operation.get("counter"))
+ *     .operation(Operation.touch())
+ *     .build();
+ *
+ * reactorClient.operate(key, template, 1);
+ * </pre>
+ * Templates are immutable and thread-safe.
+ */
+public final class OperationTemplate {
+
+	private static final int MAX_BIN_NAME_LENGTH = 15;
+
+	private final Operation[] operations;
+	private final int[] parameterIndexes;
+
+	private OperationTemplate(Operation[] operations, int[] parameterIndexes) {
+		this.operations = operations;
+		this.parameterIndexes = parameterIndexes;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Number of values each call has to pass.
+	 */
+	public int getParameterCount() {
+		return parameterIndexes.length;
+	}
+
+	/**
+	 * Return the operations with parameter values bound.
+	 *
+	 * @throws AerospikeException	if the number of values does not match the parameters
+	 * 								or a value does not fit its operation
+	 */
+	public Operation[] bind(Object... values) {
+		if (values.length != parameterIndexes.length) {
+			throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Operation template expects " +
+					parameterIndexes.length + " values, got " + values.length);
+		}
+		Operation[] bound = operations.clone();
+
+		for (int i = 0; i < parameterIndexes.length; i++) {
+			Operation parameter = operations[parameterIndexes[i]];
+			bound[parameterIndexes[i]] = new Operation(parameter.type, parameter.binName, value(parameter, values[i]));
+		}
+		return bound;
+	}
+
+	/**
+	 * Return the operations with the value of a template's only parameter bound, without boxing it.
+	 *
+	 * @throws AerospikeException	if the template does not have exactly one parameter
+	 * 								or the parameter does not take an integer
+	 */
+	public Operation[] bind(long value) {
+		if (parameterIndexes.length != 1) {
+			throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Operation template expects " +
+					parameterIndexes.length + " values, got 1");
+		}
+		Operation parameter = operations[parameterIndexes[0]];
+
+		if (parameter.type == Operation.Type.APPEND || parameter.type == Operation.Type.PREPEND) {
+			throw invalidValue(parameter, value);
+		}
+		Operation[] bound = operations.clone();
+		bound[parameterIndexes[0]] = new Operation(parameter.type, parameter.binName, Value.get(value));
+		return bound;
+	}
+
+	private static Value value(Operation parameter, Object value) {
+		switch (parameter.type) {
+			case ADD:
+				if (!(value instanceof Long || value instanceof Integer || value instanceof Short ||
+						value instanceof Byte || value instanceof Double || value instanceof Float)) {
+					throw invalidValue(parameter, value);
+				}
+				break;
+			case APPEND:
+			case PREPEND:
+				if (!(value instanceof String)) {
+					throw invalidValue(parameter, value);
+				}
+				break;
+			default:
+				break;
+		}
+		return Value.get(value);
+	}
+
+	private static AerospikeException invalidValue(Operation parameter, Object value) {
+		return new AerospikeException(ResultCode.PARAMETER_ERROR, "Invalid value for " + parameter.type +
+				" of bin " + parameter.binName + ": " + value);
+	}
+
+	public static final class Builder {
+
+		private final List<Operation> operations = new ArrayList<>();
+		private final List<Integer> parameterIndexes = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Add a fixed operation, shared by all calls.
+		 */
+		public Builder operation(Operation operation) {
+			if (operation == null) {
+				throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Operation is null");
+			}
+			operations.add(operation);
+			return this;
+		}
+
+		/**
+		 * Add a parameter that writes its value to a bin.
+		 */
+		public Builder put(String binName) {
+			return parameter(Operation.Type.WRITE, binName);
+		}
+
+		/**
+		 * Add a parameter that adds its integer or double value to a bin.
+		 */
+		public Builder add(String binName) {
+			return parameter(Operation.Type.ADD, binName);
+		}
+
+		/**
+		 * Add a parameter that appends its string value to a bin.
+		 */
+		public Builder append(String binName) {
+			return parameter(Operation.Type.APPEND, binName);
+		}
+
+		/**
+		 * Add a parameter that prepends its string value to a bin.
+		 */
+		public Builder prepend(String binName) {
+			return parameter(Operation.Type.PREPEND, binName);
+		}
+
+		/**
+		 * @throws AerospikeException	if the template has no operations
+		 */
+		public OperationTemplate build() {
+			if (operations.isEmpty()) {
+				throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Operation template is empty");
+			}
+			int[] indexes = new int[parameterIndexes.size()];
+
+			for (int i = 0; i < indexes.length; i++) {
+				indexes[i] = parameterIndexes.get(i);
+			}
+			return new OperationTemplate(operations.toArray(new Operation[0]), indexes);
+		}
+
+		private Builder parameter(Operation.Type type, String binName) {
+			if (binName == null || binName.isEmpty() || binName.length() > MAX_BIN_NAME_LENGTH) {
+				throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Invalid bin name: " + binName);
+			}
+			parameterIndexes.add(operations.size());
+			operations.add(new Operation(type, binName));
+			return this;
+		}
+	}
+}
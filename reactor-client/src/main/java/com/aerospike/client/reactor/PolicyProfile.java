@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.InfoPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+
+/**
+ * Named set of policies derived once from one base policy and shared by all commands
+ * using the profile. See {@link PolicyProfiles}.
+ * <p>
+ * The policies are shared between callers and must not be modified.
+ */
+public final class PolicyProfile {
+
+	private final String name;
+	private final Policy readPolicy;
+	private final WritePolicy writePolicy;
+	private final BatchPolicy batchPolicy;
+	private final InfoPolicy infoPolicy;
+
+	/**
+	 * Derive the policies of a profile. The read, batch and info policies take the common
+	 * {@link Policy} settings of the base policy. The write policy is a copy of the base
+	 * policy if it is a {@link WritePolicy}, the batch policy if it is a {@link BatchPolicy}.
+	 *
+	 * @param name		profile name
+	 * @param base		policy to derive the profile's policies from, it is copied
+	 */
+	public PolicyProfile(String name, Policy base) {
+		this.name = name;
+		this.readPolicy = new Policy(base);
+		this.writePolicy = base instanceof WritePolicy ? new WritePolicy((WritePolicy)base) : new WritePolicy(base);
+		this.batchPolicy = base instanceof BatchPolicy ? new BatchPolicy((BatchPolicy)base) : new BatchPolicy(base);
+		this.infoPolicy = new InfoPolicy(base);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Policy for single-record reads and index commands.
+	 */
+	public Policy getReadPolicy() {
+		return readPolicy;
+	}
+
+	/**
+	 * Policy for single-record writes and operations.
+	 */
+	public WritePolicy getWritePolicy() {
+		return writePolicy;
+	}
+
+	/**
+	 * Policy for batch commands.
+	 */
+	public BatchPolicy getBatchPolicy() {
+		return batchPolicy;
+	}
+
+	/**
+	 * Policy for info commands. Also used by the client to poll index tasks started with
+	 * one of this profile's policies.
+	 */
+	public InfoPolicy getInfoPolicy() {
+		return infoPolicy;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.InfoPolicy;
+import com.aerospike.client.policy.Policy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Immutable registry of named {@link PolicyProfile}s, resolved once when the registry is
+ * created. Callers look a profile up by name and pass its policies to commands instead of
+ * copying a policy per request.
+ * <p>
+ * Pass the registry to {@link AerospikeReactorClient}, which also uses it to find the
+ * info policy of index commands issued with a profile's policy without copying it.
+ */
+public final class PolicyProfiles {
+
+	private final Map<String, PolicyProfile> profiles;
+	private final Map<Policy, InfoPolicy> infoPolicies;
+
+	/**
+	 * @param basePolicies	base policy of each profile by profile name, see {@link PolicyProfile}
+	 */
+	public PolicyProfiles(Map<String, ? extends Policy> basePolicies) {
+		Map<String, PolicyProfile> profiles = new HashMap<>();
+		Map<Policy, InfoPolicy> infoPolicies = new IdentityHashMap<>();
+
+		for (Map.Entry<String, ? extends Policy> entry : basePolicies.entrySet()) {
+			PolicyProfile profile = new PolicyProfile(entry.getKey(), entry.getValue());
+			profiles.put(profile.getName(), profile);
+			infoPolicies.put(profile.getReadPolicy(), profile.getInfoPolicy());
+			infoPolicies.put(profile.getWritePolicy(), profile.getInfoPolicy());
+			infoPolicies.put(profile.getBatchPolicy(), profile.getInfoPolicy());
+		}
+		this.profiles = Collections.unmodifiableMap(profiles);
+		this.infoPolicies = infoPolicies;
+	}
+
+	/**
+	 * Return the profile with the given name.
+	 *
+	 * @throws AerospikeException	if no profile has that name
+	 */
+	public PolicyProfile get(String name) {
+		PolicyProfile profile = profiles.get(name);
+
+		if (profile == null) {
+			throw new AerospikeException(ResultCode.PARAMETER_ERROR, "Unknown policy profile: " + name);
+		}
+		return profile;
+	}
+
+	public Map<String, PolicyProfile> getProfiles() {
+		return profiles;
+	}
+
+	/**
+	 * Return the info policy of the profile the policy belongs to, or null.
+	 */
+	InfoPolicy infoPolicyOf(Policy policy) {
+		return infoPolicies.get(policy);
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchOperateListListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.BatchWritePolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelector;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sums concurrent integer increments per key and bin and writes the sums at once.
+ * <p>
+ * Increments are collected like any other {@link Batcher} window, for at most
+ * {@link AutoBatchPolicy#windowMicros} or until {@link AutoBatchPolicy#maxBatchSize}
+ * increments are pending, and summed when the window is sent. A window touching one key
+ * is flushed as one {@code add}, a window touching several keys as one batch operate with
+ * one {@link BatchWrite} per key. Every caller's listener completes when the write of its
+ * key completes.
+ */
+public final class AddCoalescer extends Batcher<AddCoalescer.Increment, WriteListener> {
+
+	private final IAerospikeClient aerospikeClient;
+	private final BatchWritePolicy writePolicy;
+
+	public AddCoalescer(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector,
+						Scheduler scheduler, AutoBatchPolicy policy) {
+		super(eventLoopSelector, scheduler, policy, policy.batchPolicy);
+		this.aerospikeClient = aerospikeClient;
+		this.writePolicy = WriteBatcher.batchWritePolicy(aerospikeClient.getWritePolicyDefault());
+	}
+
+	/**
+	 * Return whether all bins hold integer values that can be summed.
+	 */
+	public static boolean canCoalesce(Bin[] bins) {
+		for (Bin bin : bins) {
+			Object value = bin.value.getObject();
+
+			if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+				return false;
+			}
+		}
+		return bins.length > 0;
+	}
+
+	/**
+	 * Add increments to the pending window. All bins must pass {@link #canCoalesce(Bin[])}.
+	 */
+	public void add(Key key, Bin[] bins, WriteListener listener) {
+		add(new Increment(key, bins), listener);
+	}
+
+	@Override
+	void execute(Batch<Increment, WriteListener> batch) {
+		Map<Key, Counter> counters = new LinkedHashMap<>();
+
+		for (int i = 0; i < batch.records.size(); i++) {
+			Increment increment = batch.records.get(i);
+			counters.computeIfAbsent(increment.key, Counter::new).add(increment, batch.listeners.get(i));
+		}
+
+		if (counters.size() == 1) {
+			Counter counter = counters.values().iterator().next();
+			aerospikeClient.add(eventLoopSelector.select(counter.key), counter, null, counter.key, counter.bins());
+		}
+		else {
+			executeBatch(batch, new ArrayList<>(counters.values()));
+		}
+	}
+
+	private void executeBatch(Batch<Increment, WriteListener> batch, List<Counter> counters) {
+		List<BatchRecord> records = new ArrayList<>(counters.size());
+
+		for (Counter counter : counters) {
+			Bin[] bins = counter.bins();
+			Operation[] operations = new Operation[bins.length];
+
+			for (int i = 0; i < bins.length; i++) {
+				operations[i] = Operation.add(bins[i]);
+			}
+			records.add(new BatchWrite(writePolicy, counter.key, operations));
+		}
+
+		aerospikeClient.operate(eventLoopSelector.select(null), new BatchOperateListListener() {
+			@Override
+			public void onSuccess(List<BatchRecord> results, boolean status) {
+				for (int i = 0; i < counters.size(); i++) {
+					BatchRecord record = records.get(i);
+
+					if (record.resultCode == ResultCode.OK) {
+						counters.get(i).onSuccess(record.key);
+					}
+					else {
+						counters.get(i).onFailure(new AerospikeException(record.resultCode, record.inDoubt));
+					}
+				}
+			}
+
+			@Override
+			public void onFailure(AerospikeException exception) {
+				failed(batch, exception);
+			}
+		}, batchPolicy, records);
+	}
+
+	@Override
+	void complete(Increment increment, WriteListener listener) {
+		// Complete every caller with its own key instance.
+		listener.onSuccess(increment.key);
+	}
+
+	@Override
+	void fail(WriteListener listener, AerospikeException exception) {
+		listener.onFailure(exception);
+	}
+
+	/**
+	 * Increments of a single {@code add} call.
+	 */
+	static final class Increment {
+		final Key key;
+		final Bin[] bins;
+
+		Increment(Key key, Bin[] bins) {
+			this.key = key;
+			this.bins = bins;
+		}
+	}
+
+	/**
+	 * Summed increments of one key and the listeners waiting for their write.
+	 */
+	private final class Counter implements WriteListener {
+		private final Key key;
+		private final Map<String, long[]> sums = new LinkedHashMap<>();
+		private final List<Increment> increments = new ArrayList<>();
+		private final List<WriteListener> listeners = new ArrayList<>();
+
+		Counter(Key key) {
+			this.key = key;
+		}
+
+		void add(Increment increment, WriteListener listener) {
+			for (Bin bin : increment.bins) {
+				sums.computeIfAbsent(bin.name, name -> new long[1])[0] += ((Number)bin.value.getObject()).longValue();
+			}
+			increments.add(increment);
+			listeners.add(listener);
+		}
+
+		Bin[] bins() {
+			Bin[] bins = new Bin[sums.size()];
+			int i = 0;
+
+			for (Map.Entry<String, long[]> entry : sums.entrySet()) {
+				bins[i++] = new Bin(entry.getKey(), entry.getValue()[0]);
+			}
+			return bins;
+		}
+
+		@Override
+		public void onSuccess(Key key) {
+			for (int i = 0; i < listeners.size(); i++) {
+				complete(increments.get(i), listeners.get(i));
+			}
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			for (WriteListener listener : listeners) {
+				fail(listener, exception);
+			}
+		}
+	}
+}
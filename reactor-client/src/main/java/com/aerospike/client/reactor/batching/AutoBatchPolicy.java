@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.policy.BatchPolicy;
+
+/**
+ * Configuration of the opt-in automatic batching and collapsing of single-key commands.
+ * Each mode is disabled until its flag is set.
+ * <p>
+ * Commands issued concurrently are collected for at most {@link #windowMicros}
+ * or until {@link #maxBatchSize} commands are pending, whichever comes first,
+ * and then sent as one batch command.
+ */
+public final class AutoBatchPolicy {
+
+	/**
+	 * Collect single-key reads issued without an explicit policy,
+	 * i.e. {@code get(key)} and {@code get(null, key, binNames)}.
+	 * <p>
+	 * The batch is sent with the client's default read policy settings (replica, read mode,
+	 * filter expression, timeouts and retries) on top of the client's default batch policy,
+	 * unless {@link #batchPolicy} is set, which then replaces them for batched reads.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean batchReads;
+
+	/**
+	 * Collect single-record writes issued without an explicit policy, i.e. {@code put},
+	 * {@code add}, {@code delete} and {@code operate} called with a null or no write policy.
+	 * Writes are sent as one {@code operate(BatchPolicy, List<BatchRecord>)} command.
+	 * An {@code operate} is batched only if it contains a write operation.
+	 * <p>
+	 * The client's default write policy is then no longer applied as a whole: its record settings
+	 * ({@code sendKey}, {@code expiration}, {@code durableDelete}, {@code recordExistsAction},
+	 * {@code generationPolicy}, {@code generation}, {@code commitLevel} and filter expression) are
+	 * copied once to the batch write and delete policies of the records, while timeouts, retries
+	 * and replica come from {@link #batchPolicy} or the client's default batch parent write policy.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean batchWrites;
+
+	/**
+	 * Sum integer increments issued by {@code add} without an explicit policy per key and bin,
+	 * and write the sums once per window. Every caller completes when the summed write completes.
+	 * Takes precedence over {@link #batchWrites} for such increments.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean coalesceAdds;
+
+	/**
+	 * Share one in-flight command between identical concurrent {@code get} and {@code getHeader}
+	 * calls, i.e. calls for the same record, bins and policy instance.
+	 * All callers then receive the same {@link com.aerospike.client.query.KeyRecord} instance.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean collapseReads;
+
+	/**
+	 * Maximum time in microseconds a command waits for other commands to join its batch.
+	 * <p>
+	 * Default: 500
+	 */
+	public int windowMicros = 500;
+
+	/**
+	 * Batch is sent as soon as this many commands are pending.
+	 * <p>
+	 * Default: 100
+	 */
+	public int maxBatchSize = 100;
+
+	/**
+	 * Policy of the batch commands. If null, batched reads use a batch policy derived from the
+	 * client's default read policy, see {@link #batchReads}, and other batch commands use the
+	 * client's default batch policy.
+	 * <p>
+	 * Default: null
+	 */
+	public BatchPolicy batchPolicy;
+
+	/**
+	 * Copy auto batch policy from another auto batch policy.
+	 */
+	public AutoBatchPolicy(AutoBatchPolicy other) {
+		this.batchReads = other.batchReads;
+		this.batchWrites = other.batchWrites;
+		this.coalesceAdds = other.coalesceAdds;
+		this.collapseReads = other.collapseReads;
+		this.windowMicros = other.windowMicros;
+		this.maxBatchSize = other.maxBatchSize;
+		this.batchPolicy = other.batchPolicy;
+	}
+
+	/**
+	 * Default constructor.
+	 */
+	public AutoBatchPolicy() {
+	}
+}
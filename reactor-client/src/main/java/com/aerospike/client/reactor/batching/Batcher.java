@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelector;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects single-key commands into batches bounded by time and size.
+ * <p>
+ * A batch is opened by the first command added to it and sent either when it holds
+ * {@link AutoBatchPolicy#maxBatchSize} commands or when {@link AutoBatchPolicy#windowMicros}
+ * have elapsed, whichever comes first. Subclasses may merge the collected commands
+ * when the batch is sent, as {@link AddCoalescer} does.
+ *
+ * @param <R>	record type of the single-key commands
+ * @param <L>	listener type of the single-key commands
+ */
+abstract class Batcher<R, L> {
+
+	final EventLoopSelector eventLoopSelector;
+	final BatchPolicy batchPolicy;
+	private final Scheduler scheduler;
+	private final long windowMicros;
+	private final int maxBatchSize;
+
+	private Batch<R, L> pending;
+
+	Batcher(EventLoopSelector eventLoopSelector, Scheduler scheduler, AutoBatchPolicy policy,
+			BatchPolicy batchPolicy) {
+		this.eventLoopSelector = eventLoopSelector;
+		this.scheduler = scheduler;
+		this.batchPolicy = batchPolicy;
+		this.windowMicros = Math.max(policy.windowMicros, 0);
+		this.maxBatchSize = Math.max(policy.maxBatchSize, 1);
+	}
+
+	/**
+	 * Send the records of the batch and call {@link #succeeded} or {@link #failed} when done.
+	 */
+	abstract void execute(Batch<R, L> batch);
+
+	/**
+	 * Complete the listener of a single command from its batch record.
+	 */
+	abstract void complete(R record, L listener);
+
+	/**
+	 * Fail the listener of a single command.
+	 */
+	abstract void fail(L listener, AerospikeException exception);
+
+	final void add(R record, L listener) {
+		Batch<R, L> started = null;
+		Batch<R, L> full = null;
+
+		synchronized (this) {
+			if (pending == null) {
+				pending = new Batch<>(maxBatchSize);
+				started = pending;
+			}
+			pending.records.add(record);
+			pending.listeners.add(listener);
+
+			if (pending.records.size() >= maxBatchSize) {
+				full = pending;
+				pending = null;
+			}
+		}
+
+		if (full != null) {
+			send(full);
+		}
+		else if (started != null) {
+			Batch<R, L> batch = started;
+			scheduler.schedule(() -> flush(batch), windowMicros, TimeUnit.MICROSECONDS);
+		}
+	}
+
+	final void succeeded(Batch<R, L> batch) {
+		for (int i = 0; i < batch.listeners.size(); i++) {
+			complete(batch.records.get(i), batch.listeners.get(i));
+		}
+	}
+
+	final void failed(Batch<R, L> batch, AerospikeException exception) {
+		for (L listener : batch.listeners) {
+			fail(listener, exception);
+		}
+	}
+
+	private void flush(Batch<R, L> batch) {
+		synchronized (this) {
+			if (pending != batch) {
+				// Already sent because it filled up.
+				return;
+			}
+			pending = null;
+		}
+		send(batch);
+	}
+
+	private void send(Batch<R, L> batch) {
+		try {
+			execute(batch);
+		}
+		catch (AerospikeException e) {
+			failed(batch, e);
+		}
+		catch (RuntimeException e) {
+			failed(batch, new AerospikeException(e));
+		}
+	}
+
+	static final class Batch<R, L> {
+		final List<R> records;
+		final List<L> listeners;
+
+		Batch(int capacity) {
+			this.records = new ArrayList<>(capacity);
+			this.listeners = new ArrayList<>(capacity);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRead;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchListListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelector;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Collects concurrent single-key reads and executes them as one
+ * {@code get(BatchPolicy, List<BatchRead>)} command.
+ * <p>
+ * Each read completes its own {@link RecordListener} from the result code
+ * of its {@link BatchRead}: found and not found records succeed like a
+ * single-key get would, any other result code fails with an {@link AerospikeException}.
+ * <p>
+ * Unless {@link AutoBatchPolicy#batchPolicy} is set, the batch is sent with the settings
+ * of the client's default read policy, see {@link #readBatchPolicy(IAerospikeClient)}.
+ */
+public final class ReadBatcher extends Batcher<BatchRead, RecordListener> {
+
+	private final IAerospikeClient aerospikeClient;
+
+	public ReadBatcher(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector,
+					   Scheduler scheduler, AutoBatchPolicy policy) {
+		super(eventLoopSelector, scheduler, policy,
+				policy.batchPolicy != null ? policy.batchPolicy : readBatchPolicy(aerospikeClient));
+		this.aerospikeClient = aerospikeClient;
+	}
+
+	/**
+	 * Batch policy that carries the client's default read policy, so that batched reads keep
+	 * its replica, read mode, filter expression and timeouts. Batch specific settings are
+	 * taken from the client's default batch policy.
+	 */
+	static BatchPolicy readBatchPolicy(IAerospikeClient aerospikeClient) {
+		BatchPolicy batchDefault = aerospikeClient.getBatchPolicyDefault();
+		BatchPolicy batchPolicy = new BatchPolicy(aerospikeClient.getReadPolicyDefault());
+		batchPolicy.maxConcurrentThreads = batchDefault.maxConcurrentThreads;
+		batchPolicy.allowInline = batchDefault.allowInline;
+		batchPolicy.allowInlineSSD = batchDefault.allowInlineSSD;
+		batchPolicy.respondAllKeys = batchDefault.respondAllKeys;
+		return batchPolicy;
+	}
+
+	/**
+	 * Add a read to the pending batch.
+	 *
+	 * @param key			record key
+	 * @param binNames		bins to read, all bins if null
+	 * @param listener		completed when the batch returns
+	 */
+	public void get(Key key, String[] binNames, RecordListener listener) {
+		add(binNames == null ? new BatchRead(key, true) : new BatchRead(key, binNames), listener);
+	}
+
+	@Override
+	void execute(Batch<BatchRead, RecordListener> batch) {
+		aerospikeClient.get(eventLoopSelector.select(null), new BatchListListener() {
+			@Override
+			public void onSuccess(List<BatchRead> records) {
+				succeeded(batch);
+			}
+
+			@Override
+			public void onFailure(AerospikeException exception) {
+				failed(batch, exception);
+			}
+		}, batchPolicy, batch.records);
+	}
+
+	@Override
+	void complete(BatchRead read, RecordListener listener) {
+		if (read.resultCode == ResultCode.OK || read.resultCode == ResultCode.KEY_NOT_FOUND_ERROR) {
+			listener.onSuccess(read.key, read.record);
+		}
+		else {
+			listener.onFailure(new AerospikeException(read.resultCode, read.inDoubt));
+		}
+	}
+
+	@Override
+	void fail(RecordListener listener, AerospikeException exception) {
+		listener.onFailure(exception);
+	}
+}
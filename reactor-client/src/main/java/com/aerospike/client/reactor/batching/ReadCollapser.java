@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.query.KeyRecord;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shares one in-flight command between identical concurrent reads.
+ * <p>
+ * Reads are identical if they target the same record (namespace, set and digest),
+ * request the same bins and use the same policy instance. The first read executes
+ * the command, reads arriving while it is in flight receive the same {@link KeyRecord}.
+ * A read arriving after the command completed executes a new command.
+ * <p>
+ * The shared command keeps running while any of its subscribers remain. It is cancelled
+ * once all of them cancelled, and the next identical read executes a new command.
+ */
+public final class ReadCollapser {
+
+	private final ConcurrentMap<ReadKey, Mono<KeyRecord>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Collapse a get command.
+	 */
+	public Mono<KeyRecord> get(Policy policy, Key key, String[] binNames, Mono<KeyRecord> command) {
+		return collapse(new ReadKey(false, policy, key, binNames), command);
+	}
+
+	/**
+	 * Collapse a getHeader command.
+	 */
+	public Mono<KeyRecord> getHeader(Policy policy, Key key, Mono<KeyRecord> command) {
+		return collapse(new ReadKey(true, policy, key, null), command);
+	}
+
+	private Mono<KeyRecord> collapse(ReadKey readKey, Mono<KeyRecord> command) {
+		return Mono.defer(() -> inFlight.computeIfAbsent(readKey, k -> share(k, command)));
+	}
+
+	private Mono<KeyRecord> share(ReadKey readKey, Mono<KeyRecord> command) {
+		AtomicReference<Mono<KeyRecord>> self = new AtomicReference<>();
+		Mono<KeyRecord> shared = command
+				// Leave the map before the result is published, so that later reads start a new command.
+				// A read subscribing after completion runs the command again and must then not
+				// remove the newer command of the same read.
+				.doOnSuccess(keyRecord -> inFlight.remove(readKey, self.get()))
+				.doOnError(throwable -> inFlight.remove(readKey, self.get()))
+				// Runs once the last subscriber cancelled and share() cancels the command.
+				.doOnCancel(() -> inFlight.remove(readKey, self.get()))
+				.share();
+		self.set(shared);
+		return shared;
+	}
+
+	int inFlightSize() {
+		return inFlight.size();
+	}
+
+	private static final class ReadKey {
+		private final boolean header;
+		private final Policy policy;
+		private final String namespace;
+		private final String setName;
+		private final byte[] digest;
+		private final String[] binNames;
+		private final int hash;
+
+		ReadKey(boolean header, Policy policy, Key key, String[] binNames) {
+			this.header = header;
+			this.policy = policy;
+			this.namespace = key.namespace;
+			this.setName = key.setName;
+			this.digest = key.digest;
+			this.binNames = binNames;
+			this.hash = Arrays.hashCode(digest) * 31 + Arrays.hashCode(binNames);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ReadKey)) {
+				return false;
+			}
+			ReadKey other = (ReadKey)obj;
+			return header == other.header
+					&& policy == other.policy
+					&& Arrays.equals(digest, other.digest)
+					&& namespace.equals(other.namespace)
+					&& Objects.equals(setName, other.setName)
+					&& Arrays.equals(binNames, other.binNames);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchDelete;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchOperateListListener;
+import com.aerospike.client.listener.DeleteListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.BatchDeletePolicy;
+import com.aerospike.client.policy.BatchWritePolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelector;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Collects concurrent single-record writes and executes them as one
+ * {@code operate(BatchPolicy, List<BatchRecord>)} command.
+ * <p>
+ * Each write completes its own listener from the result code of its {@link BatchRecord}.
+ * Deletes of missing records succeed with {@code existed == false}, like a single-key
+ * delete would; any other result code fails with an {@link AerospikeException}.
+ * <p>
+ * Every record carries a {@link BatchWritePolicy} or {@link BatchDeletePolicy} built from
+ * the client's default write policy when the batcher is created, so batched writes keep
+ * its record settings such as {@code sendKey}, {@code expiration} or {@code durableDelete}.
+ */
+public final class WriteBatcher extends Batcher<BatchRecord, WriteBatcher.Completion> {
+
+	private final IAerospikeClient aerospikeClient;
+	private final BatchWritePolicy writePolicy;
+	private final BatchDeletePolicy deletePolicy;
+
+	public WriteBatcher(IAerospikeClient aerospikeClient, EventLoopSelector eventLoopSelector,
+						Scheduler scheduler, AutoBatchPolicy policy) {
+		super(eventLoopSelector, scheduler, policy, policy.batchPolicy);
+		this.aerospikeClient = aerospikeClient;
+
+		WritePolicy writeDefault = aerospikeClient.getWritePolicyDefault();
+		this.writePolicy = batchWritePolicy(writeDefault);
+		this.deletePolicy = batchDeletePolicy(writeDefault);
+	}
+
+	/**
+	 * Return whether any of the operations writes the record.
+	 * Only such operate commands are batched, reads keep going through the read path.
+	 */
+	public static boolean hasWrite(Operation[] operations) {
+		for (Operation operation : operations) {
+			if (operation.type.isWrite) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static BatchWritePolicy batchWritePolicy(WritePolicy policy) {
+		BatchWritePolicy writePolicy = new BatchWritePolicy();
+		writePolicy.filterExp = policy.filterExp;
+		writePolicy.recordExistsAction = policy.recordExistsAction;
+		writePolicy.commitLevel = policy.commitLevel;
+		writePolicy.generationPolicy = policy.generationPolicy;
+		writePolicy.generation = policy.generation;
+		writePolicy.expiration = policy.expiration;
+		writePolicy.durableDelete = policy.durableDelete;
+		writePolicy.onLockingOnly = policy.onLockingOnly;
+		writePolicy.sendKey = policy.sendKey;
+		return writePolicy;
+	}
+
+	static BatchDeletePolicy batchDeletePolicy(WritePolicy policy) {
+		BatchDeletePolicy deletePolicy = new BatchDeletePolicy();
+		deletePolicy.filterExp = policy.filterExp;
+		deletePolicy.commitLevel = policy.commitLevel;
+		deletePolicy.generationPolicy = policy.generationPolicy;
+		deletePolicy.generation = policy.generation;
+		deletePolicy.durableDelete = policy.durableDelete;
+		deletePolicy.sendKey = policy.sendKey;
+		return deletePolicy;
+	}
+
+	/**
+	 * Add a put to the pending batch.
+	 */
+	public void put(Key key, Bin[] bins, WriteListener listener) {
+		Operation[] operations = new Operation[bins.length];
+
+		for (int i = 0; i < bins.length; i++) {
+			operations[i] = Operation.put(bins[i]);
+		}
+		add(new BatchWrite(writePolicy, key, operations), new WriteCompletion(listener));
+	}
+
+	/**
+	 * Add an add (increment) to the pending batch.
+	 */
+	public void add(Key key, Bin[] bins, WriteListener listener) {
+		Operation[] operations = new Operation[bins.length];
+
+		for (int i = 0; i < bins.length; i++) {
+			operations[i] = Operation.add(bins[i]);
+		}
+		add(new BatchWrite(writePolicy, key, operations), new WriteCompletion(listener));
+	}
+
+	/**
+	 * Add a delete to the pending batch.
+	 */
+	public void delete(Key key, DeleteListener listener) {
+		add(new BatchDelete(deletePolicy, key), new DeleteCompletion(listener));
+	}
+
+	/**
+	 * Add an operate to the pending batch. The operations should pass {@link #hasWrite(Operation[])}.
+	 */
+	public void operate(Key key, Operation[] operations, RecordListener listener) {
+		add(new BatchWrite(writePolicy, key, operations), new RecordCompletion(listener));
+	}
+
+	@Override
+	void execute(Batch<BatchRecord, Completion> batch) {
+		aerospikeClient.operate(eventLoopSelector.select(null), new BatchOperateListListener() {
+			@Override
+			public void onSuccess(List<BatchRecord> records, boolean status) {
+				succeeded(batch);
+			}
+
+			@Override
+			public void onFailure(AerospikeException exception) {
+				failed(batch, exception);
+			}
+		}, batchPolicy, batch.records);
+	}
+
+	@Override
+	void complete(BatchRecord record, Completion completion) {
+		completion.complete(record);
+	}
+
+	@Override
+	void fail(Completion completion, AerospikeException exception) {
+		completion.fail(exception);
+	}
+
+	/**
+	 * Completes the listener of one batched write from its {@link BatchRecord}.
+	 */
+	interface Completion {
+		void complete(BatchRecord record);
+
+		void fail(AerospikeException exception);
+	}
+
+	private static AerospikeException error(BatchRecord record) {
+		return new AerospikeException(record.resultCode, record.inDoubt);
+	}
+
+	private static final class WriteCompletion implements Completion {
+		private final WriteListener listener;
+
+		WriteCompletion(WriteListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void complete(BatchRecord record) {
+			if (record.resultCode == ResultCode.OK) {
+				listener.onSuccess(record.key);
+			}
+			else {
+				listener.onFailure(error(record));
+			}
+		}
+
+		@Override
+		public void fail(AerospikeException exception) {
+			listener.onFailure(exception);
+		}
+	}
+
+	private static final class RecordCompletion implements Completion {
+		private final RecordListener listener;
+
+		RecordCompletion(RecordListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void complete(BatchRecord record) {
+			if (record.resultCode == ResultCode.OK) {
+				listener.onSuccess(record.key, record.record);
+			}
+			else {
+				listener.onFailure(error(record));
+			}
+		}
+
+		@Override
+		public void fail(AerospikeException exception) {
+			listener.onFailure(exception);
+		}
+	}
+
+	/**
+	 * Deletes of missing records succeed with {@code existed == false}.
+	 */
+	private static final class DeleteCompletion implements Completion {
+		private final DeleteListener listener;
+
+		DeleteCompletion(DeleteListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void complete(BatchRecord record) {
+			int resultCode = record.resultCode;
+
+			if (resultCode == ResultCode.OK || resultCode == ResultCode.KEY_NOT_FOUND_ERROR) {
+				listener.onSuccess(record.key, resultCode == ResultCode.OK);
+			}
+			else {
+				listener.onFailure(error(record));
+			}
+		}
+
+		@Override
+		public void fail(AerospikeException exception) {
+			listener.onFailure(exception);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+/**
+ * Approximate access frequency of keys, used to decide admission into a full cache (TinyLFU).
+ * <p>
+ * A count-min sketch with four rows of 4-bit saturating counters. Once the number of
+ * recorded accesses reaches ten times the cache size all counters are halved, so the
+ * frequencies follow recent popularity. Updates are not synchronized: lost increments
+ * only make the estimate slightly less accurate.
+ */
+final class FrequencySketch {
+
+	private static final int[] SEEDS = {0x97cb3127, 0xb9f0a3d1, 0x85ebca6b, 0xc2b2ae35};
+	private static final int MAX_COUNT = 15;
+
+	private final byte[] counters;
+	private final int mask;
+	private final int sampleSize;
+	private int additions;
+
+	FrequencySketch(int maxEntries) {
+		int size = Integer.highestOneBit(Math.max(maxEntries, 16) * 2 - 1) << 2;
+		this.counters = new byte[size];
+		this.mask = size - 1;
+		this.sampleSize = Math.max(maxEntries, 16) * 10;
+	}
+
+	int frequency(Object key) {
+		int hash = key.hashCode();
+		int frequency = MAX_COUNT;
+
+		for (int seed : SEEDS) {
+			frequency = Math.min(frequency, counters[index(hash, seed)]);
+		}
+		return frequency;
+	}
+
+	void increment(Object key) {
+		int hash = key.hashCode();
+
+		for (int seed : SEEDS) {
+			int index = index(hash, seed);
+
+			if (counters[index] < MAX_COUNT) {
+				counters[index]++;
+			}
+		}
+
+		if (++additions >= sampleSize) {
+			reset();
+		}
+	}
+
+	private void reset() {
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] >>>= 1;
+		}
+		additions = 0;
+	}
+
+	private int index(int hash, int seed) {
+		int h = hash * seed;
+		return (h ^ (h >>> 16)) & mask;
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.cluster.Node;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Info responses of {@link NearCacheReactorClient} cached per node and command.
+ * <p>
+ * Each entry is a shared {@link Mono} of the server's response map to the single command,
+ * so concurrent requests for the same node and command are sent once. An entry is removed
+ * when the command's time to live has passed since its response arrived, failed requests
+ * are removed at once. All entries are dropped when the cluster's node list changes.
+ */
+final class InfoCache {
+
+	private final ConcurrentHashMap<InfoKey, Mono<Map<String, String>>> responses = new ConcurrentHashMap<>();
+	private final Map<String, Integer> ttlMillis;
+	private volatile Node[] nodes;
+
+	InfoCache(Map<String, Integer> ttlMillis) {
+		this.ttlMillis = ttlMillis;
+	}
+
+	/**
+	 * Return true if responses to the command are cached.
+	 */
+	boolean isCached(String command) {
+		return ttlMillis(command) > 0;
+	}
+
+	/**
+	 * Return the cached response to a command or the response of the command sent by the supplier.
+	 */
+	Mono<Map<String, String>> get(IAerospikeClient client, Node node, String command,
+								  Supplier<Mono<Map<String, String>>> supplier) {
+		checkNodes(client.getNodes());
+		long ttl = ttlMillis(command);
+		return responses.computeIfAbsent(new InfoKey(node, command), key -> request(key, ttl, supplier));
+	}
+
+	private Mono<Map<String, String>> request(InfoKey key, long ttl, Supplier<Mono<Map<String, String>>> supplier) {
+		AtomicReference<Mono<Map<String, String>>> self = new AtomicReference<>();
+		Mono<Map<String, String>> response = Mono.defer(supplier)
+				.doOnSuccess(value -> expire(key, self.get(), value != null ? ttl : 0))
+				.doOnError(error -> expire(key, self.get(), 0))
+				.cache();
+		self.set(response);
+		return response;
+	}
+
+	private void expire(InfoKey key, Mono<Map<String, String>> response, long delayMillis) {
+		if (delayMillis <= 0) {
+			responses.remove(key, response);
+			return;
+		}
+		Schedulers.parallel().schedule(() -> responses.remove(key, response), delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private void checkNodes(Node[] current) {
+		Node[] known = nodes;
+
+		if (current != known && !Arrays.equals(current, known)) {
+			nodes = current;
+			responses.clear();
+		}
+	}
+
+	/**
+	 * Time to live of the full command, else of the command name before its first '/'.
+	 */
+	private long ttlMillis(String command) {
+		Integer ttl = ttlMillis.get(command);
+
+		if (ttl == null) {
+			int end = command.indexOf('/');
+
+			if (end > 0) {
+				ttl = ttlMillis.get(command.substring(0, end));
+			}
+		}
+		return ttl != null ? ttl : 0;
+	}
+
+	private static final class InfoKey {
+		final Node node;
+		final String command;
+
+		InfoKey(Node node, String command) {
+			this.node = node;
+			this.command = command;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof InfoKey)) {
+				return false;
+			}
+			InfoKey other = (InfoKey)o;
+			return node == other.node && command.equals(other.command);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(node), command);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only bins of a record served from off-heap storage, decoded on first access.
+ */
+final class LazyBins extends AbstractMap<String, Object> {
+
+	private final byte[] bytes;
+	private volatile Map<String, Object> bins;
+
+	LazyBins(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return bins().entrySet();
+	}
+
+	@Override
+	public Object get(Object key) {
+		return bins().get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return bins().containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		return bins().size();
+	}
+
+	private Map<String, Object> bins() {
+		Map<String, Object> bins = this.bins;
+
+		if (bins == null) {
+			bins = Collections.unmodifiableMap(RecordCodec.decode(bytes));
+			this.bins = bins;
+		}
+		return bins;
+	}
+}
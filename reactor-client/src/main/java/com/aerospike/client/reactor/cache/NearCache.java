@@ -0,0 +1,492 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.BatchRead;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.query.KeyRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Record cache behind {@link NearCacheReactorClient}.
+ * <p>
+ * Lookups are lock-free. Insertions and invalidations take a lock, they follow a
+ * server round trip anyway. New records enter a window of about one percent of
+ * {@link NearCachePolicy#maxEntries}. When the window is full, its oldest record that was
+ * not hit since it last came around leaves for the main segment, so the window evicts
+ * roughly in LRU order without hits taking the lock. The record leaving the window only
+ * replaces the oldest record of the main segment if it was accessed more often
+ * ({@link FrequencySketch}), so one-off reads do not push out popular records (W-TinyLFU).
+ * Expired records are removed when looked up and before any victim is compared, so they
+ * neither count toward the limit nor keep new records out.
+ * <p>
+ * Every invalidation bumps a stamp of the key's stripe. A read takes the stamp before
+ * it is sent and its result is only stored if the stamp is unchanged, so a read racing
+ * with a write never caches the value from before the write.
+ * <p>
+ * With {@link NearCachePolicy#offHeapBytes} set, record bins are serialized into a
+ * {@link SlabStore} and only the index stays on the heap. A hit copies the bytes back
+ * and decodes them when the bins are first accessed. Records the store dropped to make
+ * room are removed from the index when looked up and, like expired records, before a
+ * victim is compared. The store reuses its oldest slab first, so these records collect at
+ * the front of the main segment.
+ * <p>
+ * With {@link NearCachePolicy#refreshAheadMillis} set, the first hit on a key close to
+ * expiry passes it to the refresher, which confirms the generation with a header read and
+ * extends the entries through {@link #revalidate}.
+ */
+final class NearCache {
+
+	private static final int STRIPES = 1024;
+
+	private final ConcurrentHashMap<Key, Entry[]> records = new ConcurrentHashMap<>();
+	private final LinkedHashSet<Key> window = new LinkedHashSet<>();
+	private final LinkedHashSet<Key> main = new LinkedHashSet<>();
+	private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+	private final FrequencySketch sketch;
+	private final NegativeCache missing;
+	private final SlabStore slabs;
+	private final int maxWindow;
+	private final int maxMain;
+	private final long maxTtlNanos;
+	private final long refreshAheadNanos;
+	private final Consumer<Key> refresher;
+
+	NearCache(NearCachePolicy policy, Consumer<Key> refresher) {
+		int maxEntries = Math.max(policy.maxEntries, 1);
+		this.maxWindow = maxEntries / 100;
+		this.maxMain = maxEntries - maxWindow;
+		this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(policy.maxTtlMillis);
+		this.refreshAheadNanos = TimeUnit.MILLISECONDS.toNanos(policy.refreshAheadMillis);
+		this.refresher = refresher;
+		this.sketch = new FrequencySketch(maxEntries);
+		this.missing = policy.negativeTtlMillis > 0 ?
+			new NegativeCache(policy.negativeMaxEntries, policy.negativeTtlMillis) : null;
+		this.slabs = policy.offHeapBytes > 0 ? new SlabStore(policy.offHeapBytes, policy.offHeapSlabBytes) : null;
+	}
+
+	/**
+	 * Return the cached result of the read or null.
+	 */
+	KeyRecord get(Key key, String[] binNames, boolean header) {
+		sketch.increment(key);
+		Entry[] entries = records.get(key);
+
+		if (entries == null) {
+			return null;
+		}
+		long now = System.nanoTime();
+
+		for (Entry entry : entries) {
+			if (entry.matches(binNames, header)) {
+				if (now - entry.expiresAt >= 0) {
+					if (isDead(entries, now)) {
+						remove(key, entries);
+					}
+					return null;
+				}
+				entry.accessed = true;
+
+				if (entry.expiresAt - now < refreshAheadNanos && !entry.refreshing) {
+					entry.refreshing = true;
+					refresher.accept(key);
+				}
+
+				if (entry.keyRecord != null) {
+					return entry.keyRecord;
+				}
+				byte[] bytes = slabs.read(entry.position, entry.length);
+
+				if (bytes == null) {
+					remove(key, entries);
+					return null;
+				}
+				return new KeyRecord(key, new Record(new LazyBins(bytes), entry.generation, entry.expiration));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return true if a recent read found no record for the key.
+	 */
+	boolean isMissing(Key key) {
+		return missing != null && missing.contains(key);
+	}
+
+	/**
+	 * Return the stamp to pass to {@link #put} for a read about to be sent.
+	 */
+	long stamp(Key key) {
+		return stamps.get(stripe(key));
+	}
+
+	/**
+	 * Store the result of a read unless the key was invalidated since the stamp was taken.
+	 */
+	void put(Key key, String[] binNames, boolean header, KeyRecord keyRecord, long stamp) {
+		Record record = keyRecord.record;
+
+		if (record == null) {
+			putMissing(key, stamp);
+			return;
+		}
+		long now = System.nanoTime();
+		long ttlNanos = ttlNanos(record);
+
+		if (ttlNanos <= 0) {
+			return;
+		}
+		// Copy the caller's bin names, they may reuse the array for their next read.
+		String[] names = binNames != null ? binNames.clone() : null;
+		Entry entry = slabs != null && record.bins != null && !record.bins.isEmpty() ?
+			offHeapEntry(names, header, record, now + ttlNanos) : null;
+
+		if (entry == null) {
+			entry = new Entry(names, header, keyRecord, record.generation, record.expiration, 0, 0, now + ttlNanos);
+		}
+
+		synchronized (this) {
+			if (stamps.get(stripe(key)) != stamp) {
+				return;
+			}
+			Entry[] entries = records.get(key);
+
+			if (entries == null) {
+				records.put(key, new Entry[]{entry});
+				window.add(key);
+				evict(now);
+				return;
+			}
+			records.put(key, merge(entries, entry));
+		}
+	}
+
+	/**
+	 * Remember that a read found no record unless the key was invalidated since the stamp was taken.
+	 */
+	void putMissing(Key key, long stamp) {
+		if (missing == null) {
+			return;
+		}
+		// Add first and check the stamp after: an invalidation bumps the stamp before it
+		// removes the key, so either it removes this entry or this check sees the new stamp.
+		missing.add(key);
+
+		if (stamps.get(stripe(key)) != stamp) {
+			missing.remove(key);
+		}
+	}
+
+	/**
+	 * Extend the entries of a key whose generation a header read confirmed unchanged.
+	 * Return false if a cached entry has another generation and the record has to be read
+	 * again. Keys invalidated since the stamp was taken are left alone.
+	 */
+	boolean revalidate(Key key, Record header, long stamp) {
+		long ttlNanos = ttlNanos(header);
+
+		synchronized (this) {
+			Entry[] entries = records.get(key);
+
+			if (entries == null || stamps.get(stripe(key)) != stamp) {
+				return true;
+			}
+
+			for (Entry entry : entries) {
+				if (entry.generation != header.generation) {
+					return false;
+				}
+			}
+
+			if (ttlNanos <= 0) {
+				return true;
+			}
+			long expiresAt = System.nanoTime() + ttlNanos;
+			Entry[] extended = new Entry[entries.length];
+
+			for (int i = 0; i < entries.length; i++) {
+				extended[i] = entries[i].extend(header.expiration, expiresAt);
+			}
+			records.put(key, extended);
+			return true;
+		}
+	}
+
+	/**
+	 * Return reads that fetch the cached projections of a key again, one per projection.
+	 * Return an empty list if the key is not cached.
+	 */
+	List<BatchRead> projections(Key key) {
+		Entry[] entries = records.get(key);
+		List<BatchRead> reads = new ArrayList<>();
+
+		if (entries == null) {
+			return reads;
+		}
+
+		for (Entry entry : entries) {
+			if (entry.header) {
+				reads.add(new BatchRead(key, false));
+			}
+			else if (entry.binNames == null) {
+				reads.add(new BatchRead(key, true));
+			}
+			else {
+				reads.add(new BatchRead(key, entry.binNames));
+			}
+		}
+		return reads;
+	}
+
+	void invalidate(Key key) {
+		stamps.incrementAndGet(stripe(key));
+
+		if (missing != null) {
+			missing.remove(key);
+		}
+
+		synchronized (this) {
+			if (records.remove(key) != null) {
+				window.remove(key);
+				main.remove(key);
+			}
+		}
+	}
+
+	void invalidate(Key[] keys) {
+		for (Key key : keys) {
+			invalidate(key);
+		}
+	}
+
+	int size() {
+		return records.size();
+	}
+
+	private long ttlNanos(Record record) {
+		long ttlNanos = maxTtlNanos;
+		int recordTtl = record.getTimeToLive();
+
+		if (recordTtl > 0) {
+			ttlNanos = Math.min(ttlNanos, TimeUnit.SECONDS.toNanos(recordTtl));
+		}
+		return ttlNanos;
+	}
+
+	/**
+	 * Serialize the record into the slab store. Return null if it holds values the codec
+	 * does not support or is larger than a slab, such records stay on the heap.
+	 */
+	private Entry offHeapEntry(String[] binNames, boolean header, Record record, long expiresAt) {
+		byte[] bytes;
+
+		try {
+			bytes = RecordCodec.encode(record.bins);
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+		long position = slabs.write(bytes);
+
+		if (position < 0) {
+			return null;
+		}
+		return new Entry(binNames, header, null, record.generation, record.expiration, position, bytes.length, expiresAt);
+	}
+
+	private void remove(Key key, Entry[] entries) {
+		synchronized (this) {
+			if (records.remove(key, entries)) {
+				window.remove(key);
+				main.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Move the oldest record out of a full window, into the main segment if it has room
+	 * or wins against the main segment's oldest record. Called with the lock held.
+	 */
+	private void evict(long now) {
+		if (window.size() <= maxWindow) {
+			return;
+		}
+		Key candidate = windowVictim();
+
+		if (isDead(records.get(candidate), now)) {
+			records.remove(candidate);
+			return;
+		}
+		removeDead(now);
+
+		if (main.size() < maxMain) {
+			main.add(candidate);
+			return;
+		}
+		Iterator<Key> iterator = main.iterator();
+		Key victim = iterator.next();
+		iterator.remove();
+
+		if (sketch.frequency(candidate) <= sketch.frequency(victim)) {
+			// Give the victim another round instead of trading it for a less popular record.
+			main.add(victim);
+			records.remove(candidate);
+			return;
+		}
+		records.remove(victim);
+		main.add(candidate);
+	}
+
+	/**
+	 * Remove and return the oldest window record not hit since it was last passed over.
+	 * Records that were hit go to the back of the window.
+	 */
+	private Key windowVictim() {
+		for (int i = 0; ; i++) {
+			Iterator<Key> iterator = window.iterator();
+			Key key = iterator.next();
+			iterator.remove();
+
+			if (i == maxWindow || !clearAccessed(records.get(key))) {
+				return key;
+			}
+			window.add(key);
+		}
+	}
+
+	/**
+	 * Remove expired or dropped records from the front of the main segment.
+	 */
+	private void removeDead(long now) {
+		Iterator<Key> iterator = main.iterator();
+
+		while (iterator.hasNext()) {
+			Key key = iterator.next();
+
+			if (!isDead(records.get(key), now)) {
+				return;
+			}
+			iterator.remove();
+			records.remove(key);
+		}
+	}
+
+	/**
+	 * Return true if no entry can be served anymore, because it expired or its bytes
+	 * were overwritten in the slab store.
+	 */
+	private boolean isDead(Entry[] entries, long now) {
+		for (Entry entry : entries) {
+			if (now - entry.expiresAt < 0 && (entry.keyRecord != null || slabs.contains(entry.position))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean clearAccessed(Entry[] entries) {
+		boolean accessed = false;
+
+		for (Entry entry : entries) {
+			if (entry.accessed) {
+				entry.accessed = false;
+				accessed = true;
+			}
+		}
+		return accessed;
+	}
+
+	/**
+	 * Add or replace the projection of the new entry. Projections of an older record
+	 * generation are dropped, an entry of a newer generation is never replaced by an older one.
+	 */
+	private static Entry[] merge(Entry[] entries, Entry entry) {
+		int generation = entry.generation;
+		Entry[] merged = new Entry[entries.length + 1];
+		int count = 0;
+
+		for (Entry existing : entries) {
+			int existingGeneration = existing.generation;
+
+			if (existing.matches(entry.binNames, entry.header)) {
+				if (existingGeneration > generation) {
+					return entries;
+				}
+				continue;
+			}
+
+			if (existingGeneration >= generation) {
+				merged[count++] = existing;
+			}
+		}
+		merged[count++] = entry;
+		return count == merged.length ? merged : Arrays.copyOf(merged, count);
+	}
+
+	private static int stripe(Key key) {
+		return key.hashCode() & (STRIPES - 1);
+	}
+
+	private static final class Entry {
+		final String[] binNames;
+		final boolean header;
+		// Null if the bins are stored off-heap at position.
+		final KeyRecord keyRecord;
+		final int generation;
+		final int expiration;
+		final long position;
+		final int length;
+		final long expiresAt;
+		// Set once the entry was passed to the refresher.
+		volatile boolean refreshing;
+		// Set by hits, cleared when the window passes over the record.
+		volatile boolean accessed;
+
+		Entry(String[] binNames, boolean header, KeyRecord keyRecord, int generation, int expiration,
+			  long position, int length, long expiresAt) {
+			this.binNames = binNames;
+			this.header = header;
+			this.keyRecord = keyRecord;
+			this.generation = generation;
+			this.expiration = expiration;
+			this.position = position;
+			this.length = length;
+			this.expiresAt = expiresAt;
+		}
+
+		Entry extend(int expiration, long expiresAt) {
+			KeyRecord keyRecord = this.keyRecord == null ? null :
+				new KeyRecord(this.keyRecord.key, new Record(this.keyRecord.record.bins, generation, expiration));
+			return new Entry(binNames, header, keyRecord, generation, expiration, position, length, expiresAt);
+		}
+
+		boolean matches(String[] binNames, boolean header) {
+			return this.header == header && Arrays.equals(this.binNames, binNames);
+		}
+	}
+}
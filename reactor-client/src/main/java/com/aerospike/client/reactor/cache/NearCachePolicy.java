@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of {@link NearCacheReactorClient}.
+ */
+public final class NearCachePolicy {
+
+	/**
+	 * Maximum number of records held in the cache. All bin projections of a record
+	 * count as one entry.
+	 * <p>
+	 * Default: 10000
+	 */
+	public int maxEntries = 10000;
+
+	/**
+	 * Maximum time in milliseconds an entry is served from the cache. Entries of records
+	 * with a shorter time to live expire with the record.
+	 * <p>
+	 * Default: 60000
+	 */
+	public int maxTtlMillis = 60000;
+
+	/**
+	 * Time in milliseconds a read that found no record is remembered. Repeated
+	 * {@code exists()}, {@code get()} and {@code getHeader()} calls for that key are answered
+	 * locally until then or until the key is written through the client. Writes made by other
+	 * clients are not seen, so keep this short. Zero disables the negative cache.
+	 * <p>
+	 * Default: 0
+	 */
+	public int negativeTtlMillis;
+
+	/**
+	 * Maximum number of missing keys remembered when {@link #negativeTtlMillis} is set.
+	 * The negative cache uses 8 bytes per entry, allocated up front.
+	 * <p>
+	 * Default: 100000
+	 */
+	public int negativeMaxEntries = 100000;
+
+	/**
+	 * Time in milliseconds before expiry at which a cache hit triggers a background refresh.
+	 * Refreshes read only record headers, batched per {@link #refreshBatchMillis}, and extend
+	 * entries whose generation is unchanged. Only records of a newer generation are read again
+	 * in full. Failed refreshes are dropped and the entry expires normally. Zero disables
+	 * refresh-ahead.
+	 * <p>
+	 * Default: 0
+	 */
+	public int refreshAheadMillis;
+
+	/**
+	 * Time in milliseconds keys due for refresh are collected before their headers are read
+	 * in one batch.
+	 * <p>
+	 * Default: 10
+	 */
+	public int refreshBatchMillis = 10;
+
+	/**
+	 * Time to live in milliseconds of cached info responses by command. A key is either a full
+	 * command like {@code "namespace/test"} or a command name before its first '/', like
+	 * {@code "namespace"}, which applies to all its parameters. Commands without a time to
+	 * live are not cached. Null disables the info cache.
+	 * <p>
+	 * Default: null
+	 */
+	public Map<String, Integer> infoTtlMillis;
+
+	/**
+	 * Size in bytes of off-heap storage for cached record bins. When set, bins are kept
+	 * serialized in direct memory slabs and decoded again on access, so a large cache does not
+	 * add to garbage collection work. Only the index of cached keys stays on the heap, bounded
+	 * by {@link #maxEntries}. When the storage is full, the oldest slab is reused. Zero keeps
+	 * records on the heap.
+	 * <p>
+	 * Direct memory is limited by the JVM option {@code -XX:MaxDirectMemorySize}.
+	 * <p>
+	 * Default: 0
+	 */
+	public long offHeapBytes;
+
+	/**
+	 * Size in bytes of one off-heap slab. Storage is allocated and reused a slab at a time,
+	 * records larger than a slab stay on the heap.
+	 * <p>
+	 * Default: 16777216 (16 MiB)
+	 */
+	public int offHeapSlabBytes = 16 * 1024 * 1024;
+
+	/**
+	 * Copy near cache policy from another near cache policy.
+	 */
+	public NearCachePolicy(NearCachePolicy other) {
+		this.maxEntries = other.maxEntries;
+		this.maxTtlMillis = other.maxTtlMillis;
+		this.negativeTtlMillis = other.negativeTtlMillis;
+		this.negativeMaxEntries = other.negativeMaxEntries;
+		this.refreshAheadMillis = other.refreshAheadMillis;
+		this.refreshBatchMillis = other.refreshBatchMillis;
+		this.infoTtlMillis = other.infoTtlMillis != null ? new HashMap<>(other.infoTtlMillis) : null;
+		this.offHeapBytes = other.offHeapBytes;
+		this.offHeapSlabBytes = other.offHeapSlabBytes;
+	}
+
+	/**
+	 * Default constructor.
+	 */
+	public NearCachePolicy() {
+	}
+}
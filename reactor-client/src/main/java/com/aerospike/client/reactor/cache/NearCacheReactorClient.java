@@ -0,0 +1,761 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.*;
+import com.aerospike.client.Record;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.exp.Expression;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.OperationTemplate;
+import com.aerospike.client.reactor.PolicyProfiles;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Decorator that serves reads from local client-side caches.
+ * <p>
+ * {@code get} and {@code getHeader} results, single-key and batch, are cached per key and
+ * bin projection. A batch read only sends the keys that missed the cache.
+ * An entry lives at most {@link NearCachePolicy#maxTtlMillis} and never longer than the
+ * record's own time to live. When a read returns a newer generation of a record, cached
+ * projections of older generations are dropped. Writes issued through this client
+ * (single-key, batch and UDF) invalidate the written keys before they are sent and again
+ * when they complete. Writes issued by other clients, or directly through
+ * {@link #getAerospikeClient()}, are only picked up when entries expire.
+ * <p>
+ * With {@link NearCachePolicy#negativeTtlMillis} set, reads and {@code exists} calls that
+ * found no record are remembered for that time and answered locally, subject to the same
+ * invalidation by writes.
+ * <p>
+ * {@link #revalidate} and, with {@link NearCachePolicy#refreshAheadMillis} set, background
+ * refresh-ahead read only record headers and fetch bins again only for records whose
+ * generation changed.
+ * <p>
+ * Info commands listed in {@link NearCachePolicy#infoTtlMillis} are cached per node and
+ * command. Concurrent requests for the same response are sent once and all cached info
+ * responses are dropped when the cluster's node list changes. Cached responses are shared
+ * by callers regardless of their {@link InfoPolicy}. Info requests without a node bypass
+ * the cache.
+ * <p>
+ * Cache hits complete synchronously on the subscribing thread. Reads with a
+ * transaction or a filter expression bypass the cache.
+ * <p>
+ * Cached {@link KeyRecord} instances are shared between callers and must not be modified.
+ */
+public class NearCacheReactorClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final NearCache cache;
+	private final Set<Key> refreshQueue = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+	private final long refreshBatchMillis;
+	private final InfoCache infoCache;
+
+	public NearCacheReactorClient(IAerospikeReactorClient client, NearCachePolicy policy) {
+		this.client = client;
+		this.cache = new NearCache(policy, this::scheduleRefresh);
+		this.refreshBatchMillis = policy.refreshBatchMillis;
+		this.infoCache = policy.infoTtlMillis != null && !policy.infoTtlMillis.isEmpty()
+				? new InfoCache(new HashMap<>(policy.infoTtlMillis)) : null;
+	}
+
+	/**
+	 * Revalidate cached records with a batch header read. Entries of records with an unchanged
+	 * generation are extended, the cached projections (header, bins or full record) of records
+	 * with a newer generation are read again and records that no longer exist are removed.
+	 * Keys that are not cached are ignored.
+	 *
+	 * @param policy	batch configuration parameters, pass in null for defaults
+	 * @param keys		keys of cached records
+	 */
+	public final Mono<Void> revalidate(BatchPolicy policy, Key... keys) {
+		return Mono.defer(() -> {
+			long[] stamps = new long[keys.length];
+
+			for (int i = 0; i < keys.length; i++) {
+				stamps[i] = cache.stamp(keys[i]);
+			}
+			return client.getHeaders(policy, keys).flatMap(headers -> {
+				List<BatchRead> reads = new ArrayList<>();
+				Map<Key, Long> readStamps = new HashMap<>();
+
+				for (int i = 0; i < keys.length; i++) {
+					Record header = headers.records[i];
+
+					if (header == null) {
+						cache.invalidate(keys[i]);
+					}
+					else if (!cache.revalidate(keys[i], header, stamps[i])) {
+						reads.addAll(cache.projections(keys[i]));
+						readStamps.put(keys[i], stamps[i]);
+					}
+				}
+
+				if (reads.isEmpty()) {
+					return Mono.empty();
+				}
+				return client.get(policy, reads).doOnNext(results -> {
+					for (BatchRead read : results) {
+						if (read.resultCode != ResultCode.OK || read.record == null) {
+							// Deleted meanwhile or failed, the next read fetches the record.
+							cache.invalidate(read.key);
+							continue;
+						}
+						boolean header = !read.readAllBins && read.binNames == null;
+						cache.put(read.key, read.binNames, header, new KeyRecord(read.key, read.record),
+								readStamps.get(read.key));
+					}
+				}).then();
+			});
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		return get(policy, key, null);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		return cached(policy, key, binNames, false, Mono.defer(() -> client.get(policy, key, binNames)));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return cached(policy, keys, false, missed -> client.get(policy, missed));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys,
+									   int maxBatchSize, int maxConcurrentBatchesPerNode) throws AerospikeException {
+		return client.get(policy, keys, maxBatchSize, maxConcurrentBatchesPerNode);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return client.get(policy, records);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return client.get(policy, keys, operations);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return client.getFlux(policy, records);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.getFlux(policy, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getFlux(null, keys, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Publisher<Key> keys,
+									int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.getFlux(policy, keys, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getBatchReadFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(BatchPolicy policy, Publisher<BatchRead> records,
+											 int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.getBatchReadFlux(policy, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return client.getFlux(policy, keys, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		return cached(policy, key, null, true, Mono.defer(() -> client.getHeader(policy, key)));
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return cached(policy, keys, true, missed -> client.getHeaders(policy, missed));
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		return invalidating(key, client.touch(policy, key));
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		if (bypass(policy)) {
+			return client.exists(policy, key);
+		}
+		return Mono.defer(() -> {
+			if (cache.isMissing(key)) {
+				return Mono.empty();
+			}
+			long stamp = cache.stamp(key);
+			return client.exists(policy, key).switchIfEmpty(Mono.fromRunnable(() -> cache.putMissing(key, stamp)));
+		});
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		return client.exists(policy, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.existsFlux(policy, keys);
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return invalidating(key, client.put(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return invalidating(key, client.append(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return invalidating(key, client.prepend(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return invalidating(key, client.add(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		return invalidating(key, client.delete(policy, key));
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		return invalidating(keys, client.delete(batchPolicy, deletePolicy, keys));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		return invalidating(key, client.operate(policy, key, operations));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, Object... values) throws AerospikeException {
+		return operate(null, key, template, values);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, Object... values)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(values));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, long value) throws AerospikeException {
+		return operate(null, key, template, value);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, long value)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(value));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		return invalidating(keys, client.operate(batchPolicy, writePolicy, keys, ops));
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return invalidating(writtenKeys(records), client.operate(policy, records));
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(List<BatchRecord> records) throws AerospikeException {
+		return operateFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return invalidating(writtenKeys(records), client.operateFlux(policy, records));
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return operateFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.operateFlux(policy, Flux.from(records).doOnNext(this::invalidate),
+						batchSize, maxWait, maxConcurrentBatches)
+				.doOnNext(this::invalidate);
+	}
+
+	@Override
+	public Mono<CommitStatus> commit(Txn txn) throws AerospikeException {
+		return client.commit(txn);
+	}
+
+	@Override
+	public Mono<AbortStatus> abort(Txn txn) throws AerospikeException {
+		return client.abort(txn);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return client.query(policy, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(int maxPageSize, Statement statement) throws AerospikeException {
+		return queryPaged(null, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(QueryPolicy policy, int maxPageSize, Statement statement) throws AerospikeException {
+		return client.queryPaged(policy, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAll(policy, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(int maxPageSize, String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAllPaged(null, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(ScanPolicy policy, int maxPageSize,
+											  String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAllPaged(policy, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return invalidating(key, client.execute(policy, key, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public final Mono<BatchResults> execute(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return invalidating(keys, client.execute(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public final Flux<BatchRecord> executeFlux(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return invalidating(keys, client.executeFlux(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		if (infoCache == null || node == null || !infoCache.isCached(command)) {
+			return client.info(infoPolicy, node, command);
+		}
+		// Commands missing from the response are left to the delegate to report.
+		return cachedInfo(infoPolicy, node, command)
+				.flatMap(responses -> Mono.justOrEmpty(responses.get(command)))
+				.switchIfEmpty(Mono.defer(() -> client.info(infoPolicy, node, command)));
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		if (infoCache == null || node == null) {
+			return client.info(infoPolicy, node, commands);
+		}
+		List<String> cached = new ArrayList<>(commands.size());
+		List<String> uncached = new ArrayList<>(commands.size());
+
+		for (String command : commands) {
+			(infoCache.isCached(command) ? cached : uncached).add(command);
+		}
+
+		if (cached.isEmpty()) {
+			return client.info(infoPolicy, node, commands);
+		}
+		Mono<Map<String, String>> uncachedResponses = uncached.isEmpty()
+				? Mono.just(Collections.emptyMap())
+				: client.info(infoPolicy, node, uncached);
+		// Merge the server's response maps as they are, like a single uncached request would return them.
+		return Flux.fromIterable(cached)
+				.flatMap(command -> cachedInfo(infoPolicy, node, command))
+				.collect(HashMap<String, String>::new, Map::putAll)
+				.zipWith(uncachedResponses, (responses, others) -> {
+					responses.putAll(others);
+					return responses;
+				});
+    }
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return client.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx);
+	}
+
+    @Override
+    public Mono<Void> createIndex(Policy policy, String namespace, String setName, String indexName,
+                                  IndexType indexType, IndexCollectionType indexCollectionType, Expression expression) {
+        return client.createIndex(policy, namespace, setName, indexName, indexType, indexCollectionType, expression);
+    }
+
+    @Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return client.dropIndex(policy, namespace, setName, indexName);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public PolicyProfiles getPolicyProfiles() {
+		return client.getPolicyProfiles();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	@Override
+	public TxnVerifyPolicy getTxnVerifyPolicyDefault() {
+		return client.getTxnVerifyPolicyDefault();
+	}
+
+	@Override
+	public TxnRollPolicy getTxnRollPolicyDefault() {
+		return client.getTxnRollPolicyDefault();
+	}
+
+	private Mono<KeyRecord> cached(Policy policy, Key key, String[] binNames, boolean header,
+								   Mono<KeyRecord> command) {
+		if (bypass(policy)) {
+			return command;
+		}
+		return Mono.defer(() -> {
+			KeyRecord cached = cache.get(key, binNames, header);
+
+			if (cached != null) {
+				return Mono.just(cached);
+			}
+
+			if (cache.isMissing(key)) {
+				return Mono.just(new KeyRecord(key, null));
+			}
+			long stamp = cache.stamp(key);
+			return command.doOnNext(keyRecord -> cache.put(key, binNames, header, keyRecord, stamp));
+		});
+	}
+
+	private Mono<KeysRecords> cached(BatchPolicy policy, Key[] keys, boolean header,
+									 Function<Key[], Mono<KeysRecords>> command) {
+		if (bypass(policy)) {
+			return command.apply(keys);
+		}
+		return Mono.defer(() -> {
+			Record[] records = new Record[keys.length];
+			int[] missedIndexes = new int[keys.length];
+			int missedCount = 0;
+
+			for (int i = 0; i < keys.length; i++) {
+				KeyRecord cached = cache.get(keys[i], null, header);
+
+				if (cached != null) {
+					records[i] = cached.record;
+				}
+				else if (!cache.isMissing(keys[i])) {
+					missedIndexes[missedCount++] = i;
+				}
+			}
+
+			if (missedCount == 0) {
+				return Mono.just(new KeysRecords(keys, records));
+			}
+			Key[] missed = new Key[missedCount];
+			long[] stamps = new long[missedCount];
+
+			for (int i = 0; i < missedCount; i++) {
+				missed[i] = keys[missedIndexes[i]];
+				stamps[i] = cache.stamp(missed[i]);
+			}
+			return command.apply(missed).map(result -> {
+				for (int i = 0; i < result.records.length; i++) {
+					Record record = result.records[i];
+					records[missedIndexes[i]] = record;
+					cache.put(missed[i], null, header, new KeyRecord(missed[i], record), stamps[i]);
+				}
+				return new KeysRecords(keys, records);
+			});
+		});
+	}
+
+	private static boolean bypass(Policy policy) {
+		return policy != null && (policy.txn != null || policy.filterExp != null);
+	}
+
+	private Mono<Map<String, String>> cachedInfo(InfoPolicy infoPolicy, Node node, String command) {
+		return infoCache.get(client.getAerospikeClient(), node, command,
+				() -> client.info(infoPolicy, node, Collections.singletonList(command)));
+	}
+
+	private void scheduleRefresh(Key key) {
+		refreshQueue.add(key);
+
+		if (refreshScheduled.compareAndSet(false, true)) {
+			Schedulers.parallel().schedule(this::refreshQueued, refreshBatchMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void refreshQueued() {
+		refreshScheduled.set(false);
+		List<Key> keys = new ArrayList<>(refreshQueue.size());
+
+		for (Iterator<Key> iterator = refreshQueue.iterator(); iterator.hasNext(); ) {
+			keys.add(iterator.next());
+			iterator.remove();
+		}
+
+		if (!keys.isEmpty()) {
+			revalidate(null, keys.toArray(new Key[0])).subscribe(null, error -> {});
+		}
+	}
+
+	private <T> Mono<T> invalidating(Key key, Mono<T> command) {
+		return Mono.defer(() -> {
+			cache.invalidate(key);
+			return command.doFinally(signal -> cache.invalidate(key));
+		});
+	}
+
+	private <T> Mono<T> invalidating(Key[] keys, Mono<T> command) {
+		return Mono.defer(() -> {
+			cache.invalidate(keys);
+			return command.doFinally(signal -> cache.invalidate(keys));
+		});
+	}
+
+	private <T> Flux<T> invalidating(Key[] keys, Flux<T> command) {
+		return Flux.defer(() -> {
+			cache.invalidate(keys);
+			return command.doFinally(signal -> cache.invalidate(keys));
+		});
+	}
+
+	private void invalidate(BatchRecord record) {
+		if (record.hasWrite) {
+			cache.invalidate(record.key);
+		}
+	}
+
+	private static Key[] writtenKeys(List<BatchRecord> records) {
+		return records.stream()
+				.filter(record -> record.hasWrite)
+				.map(record -> record.key)
+				.toArray(Key[]::new);
+	}
+}
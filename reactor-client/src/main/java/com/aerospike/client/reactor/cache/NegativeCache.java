@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.Key;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, lock-free set of keys recently found missing on the server.
+ * <p>
+ * Works like a cuckoo filter without relocation: each key maps to a bucket of four slots
+ * and is stored as a 32-bit fingerprint taken from its digest and namespace, packed together
+ * with its expiry time into one {@code long}. The expiry is kept in milliseconds since the
+ * cache was created, or last cleared when that offset would no longer fit in 32 bits (about
+ * every 49 days). Expired slots are zeroed when found. When a bucket is full the entry
+ * closest to expiry is overwritten, so lost entries only cost a server lookup. Bucket index
+ * and fingerprint together use 32 bits plus the bucket bits of the key, which makes a false
+ * "missing" answer for an existing record practically impossible.
+ */
+final class NegativeCache {
+
+	private static final int WAYS = 4;
+	private static final long EXPIRY_MASK = 0xFFFFFFFFL;
+
+	private final AtomicLongArray slots;
+	private final int bucketMask;
+	private final long ttlMillis;
+	private final LongSupplier nanoClock;
+	private volatile long epoch;
+
+	NegativeCache(int maxEntries, int ttlMillis) {
+		this(maxEntries, ttlMillis, System::nanoTime);
+	}
+
+	NegativeCache(int maxEntries, int ttlMillis, LongSupplier nanoClock) {
+		int buckets = Integer.highestOneBit(Math.max((maxEntries + WAYS - 1) / WAYS, 1) * 2 - 1);
+		this.slots = new AtomicLongArray(buckets * WAYS);
+		this.bucketMask = buckets - 1;
+		this.ttlMillis = Math.min(Math.max(ttlMillis, 1), EXPIRY_MASK / 2);
+		this.nanoClock = nanoClock;
+		this.epoch = nanoClock.getAsLong();
+	}
+
+	boolean contains(Key key) {
+		long fingerprint = fingerprint(key);
+		int start = bucket(key) * WAYS;
+		long now = now(epoch);
+
+		for (int i = start; i < start + WAYS; i++) {
+			long slot = slots.get(i);
+
+			if ((slot >>> 32) == fingerprint) {
+				if ((slot & EXPIRY_MASK) > now) {
+					return true;
+				}
+				slots.compareAndSet(i, slot, 0);
+				return false;
+			}
+		}
+		return false;
+	}
+
+	void add(Key key) {
+		long fingerprint = fingerprint(key);
+		int start = bucket(key) * WAYS;
+		long epoch = this.epoch;
+		long now = now(epoch);
+
+		if (now + ttlMillis > EXPIRY_MASK) {
+			clear(epoch);
+			epoch = this.epoch;
+			now = now(epoch);
+		}
+		long value = (fingerprint << 32) | (now + ttlMillis);
+		int victim = start;
+		long victimExpiry = Long.MAX_VALUE;
+
+		for (int i = start; i < start + WAYS; i++) {
+			long slot = slots.get(i);
+
+			if ((slot >>> 32) == fingerprint) {
+				victim = i;
+				break;
+			}
+			long expiry = slot & EXPIRY_MASK;
+
+			if (slot != 0 && expiry <= now) {
+				slots.compareAndSet(i, slot, 0);
+				expiry = 0;
+			}
+
+			if (expiry < victimExpiry) {
+				victim = i;
+				victimExpiry = expiry;
+			}
+		}
+		// Losing a race against another writer of the same slot only loses an entry.
+		if (slots.compareAndSet(victim, slots.get(victim), value) && this.epoch != epoch) {
+			// Cleared meanwhile, the expiry is relative to the old epoch.
+			slots.compareAndSet(victim, value, 0);
+		}
+	}
+
+	void remove(Key key) {
+		long fingerprint = fingerprint(key);
+		int start = bucket(key) * WAYS;
+
+		for (int i = start; i < start + WAYS; i++) {
+			long slot = slots.get(i);
+
+			if ((slot >>> 32) == fingerprint) {
+				slots.compareAndSet(i, slot, 0);
+			}
+		}
+	}
+
+	private int bucket(Key key) {
+		byte[] digest = key.digest;
+		return ((digest[0] & 0xff) | (digest[1] & 0xff) << 8 | (digest[2] & 0xff) << 16 | (digest[3] & 0xff) << 24) & bucketMask;
+	}
+
+	/**
+	 * Non-zero 32-bit fingerprint of digest bytes 4..7 mixed with the namespace,
+	 * as the digest alone does not include the namespace.
+	 */
+	private static long fingerprint(Key key) {
+		byte[] digest = key.digest;
+		long fingerprint = 0;
+
+		for (int i = 4; i < 8; i++) {
+			fingerprint = (fingerprint << 8) | (digest[i] & 0xff);
+		}
+		fingerprint = (fingerprint ^ (key.namespace.hashCode() * 0x9E3779B97F4A7C15L)) & EXPIRY_MASK;
+		return fingerprint == 0 ? 1 : fingerprint;
+	}
+
+	/**
+	 * Drop all entries and restart the expiry offsets at the current time, unless another
+	 * thread already did since the epoch was read.
+	 */
+	private synchronized void clear(long epoch) {
+		if (this.epoch != epoch) {
+			return;
+		}
+		// Move the epoch first: adds that still use the old one see the change and undo.
+		this.epoch = nanoClock.getAsLong();
+
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, 0);
+		}
+	}
+
+	/**
+	 * Milliseconds since the epoch.
+	 */
+	private long now(long epoch) {
+		return TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - epoch);
+	}
+}
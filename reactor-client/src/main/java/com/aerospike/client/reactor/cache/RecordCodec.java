@@ -0,0 +1,226 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Compact serialized form of record bins kept in a {@link SlabStore}.
+ * <p>
+ * Supports the value types returned by the server: integers, doubles, strings, blobs,
+ * booleans, lists, maps, map entries, GeoJSON and HyperLogLog values. Map implementations
+ * are preserved where they carry ordering.
+ */
+final class RecordCodec {
+
+	private static final byte NULL = 0;
+	private static final byte LONG = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte STRING = 3;
+	private static final byte BYTES = 4;
+	private static final byte TRUE = 5;
+	private static final byte FALSE = 6;
+	private static final byte LIST = 7;
+	private static final byte MAP = 8;
+	private static final byte SORTED_MAP = 9;
+	private static final byte LINKED_MAP = 10;
+	private static final byte ENTRY = 11;
+	private static final byte GEOJSON = 12;
+	private static final byte HLL = 13;
+
+	private RecordCodec() {
+	}
+
+	/**
+	 * Serialize bins.
+	 *
+	 * @throws IllegalArgumentException if a bin holds a value of an unsupported type
+	 */
+	static byte[] encode(Map<String, Object> bins) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		try {
+			out.writeInt(bins.size());
+
+			for (Map.Entry<String, Object> bin : bins.entrySet()) {
+				writeString(out, bin.getKey());
+				write(out, bin.getValue());
+			}
+		}
+		catch (IOException e) {
+			// Not thrown by a byte array stream.
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	static Map<String, Object> decode(byte[] bytes) {
+		ByteBuffer in = ByteBuffer.wrap(bytes);
+		int count = in.getInt();
+		Map<String, Object> bins = new LinkedHashMap<>(count * 4 / 3 + 1);
+
+		for (int i = 0; i < count; i++) {
+			bins.put(readString(in), read(in));
+		}
+		return bins;
+	}
+
+	private static void write(DataOutputStream out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long)value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double)value);
+		}
+		else if (value instanceof String) {
+			out.writeByte(STRING);
+			writeString(out, (String)value);
+		}
+		else if (value instanceof byte[]) {
+			out.writeByte(BYTES);
+			writeBytes(out, (byte[])value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte((Boolean)value ? TRUE : FALSE);
+		}
+		else if (value instanceof List) {
+			List<?> list = (List<?>)value;
+			out.writeByte(LIST);
+			out.writeInt(list.size());
+
+			for (Object item : list) {
+				write(out, item);
+			}
+		}
+		else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>)value;
+			out.writeByte(map instanceof SortedMap ? SORTED_MAP : map instanceof LinkedHashMap ? LINKED_MAP : MAP);
+			out.writeInt(map.size());
+
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				write(out, entry.getKey());
+				write(out, entry.getValue());
+			}
+		}
+		else if (value instanceof Map.Entry) {
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>)value;
+			out.writeByte(ENTRY);
+			write(out, entry.getKey());
+			write(out, entry.getValue());
+		}
+		else if (value instanceof Value.GeoJSONValue) {
+			out.writeByte(GEOJSON);
+			writeString(out, (String)((Value.GeoJSONValue)value).getObject());
+		}
+		else if (value instanceof Value.HLLValue) {
+			out.writeByte(HLL);
+			writeBytes(out, ((Value.HLLValue)value).getBytes());
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported bin value type: " + value.getClass().getName());
+		}
+	}
+
+	private static Object read(ByteBuffer in) {
+		byte type = in.get();
+
+		switch (type) {
+			case NULL:
+				return null;
+			case LONG:
+				return in.getLong();
+			case DOUBLE:
+				return in.getDouble();
+			case STRING:
+				return readString(in);
+			case BYTES:
+				return readBytes(in);
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case LIST: {
+				int size = in.getInt();
+				List<Object> list = new ArrayList<>(size);
+
+				for (int i = 0; i < size; i++) {
+					list.add(read(in));
+				}
+				return list;
+			}
+			case MAP:
+			case SORTED_MAP:
+			case LINKED_MAP: {
+				int size = in.getInt();
+				Map<Object, Object> map = type == SORTED_MAP ? new TreeMap<>() :
+					type == LINKED_MAP ? new LinkedHashMap<>(size * 4 / 3 + 1) : new HashMap<>(size * 4 / 3 + 1);
+
+				for (int i = 0; i < size; i++) {
+					map.put(read(in), read(in));
+				}
+				return map;
+			}
+			case ENTRY:
+				return new AbstractMap.SimpleEntry<>(read(in), read(in));
+			case GEOJSON:
+				return new Value.GeoJSONValue(readString(in));
+			case HLL:
+				return new Value.HLLValue(readBytes(in));
+			default:
+				throw new IllegalStateException("Corrupt cached record, value type " + type);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+		out.writeInt(value.length);
+		out.write(value);
+	}
+
+	private static String readString(ByteBuffer in) {
+		return new String(readBytes(in), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(ByteBuffer in) {
+		byte[] bytes = new byte[in.getInt()];
+		in.get(bytes);
+		return bytes;
+	}
+}
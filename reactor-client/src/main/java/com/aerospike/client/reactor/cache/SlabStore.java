@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.cache;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Off-heap byte storage made of direct {@link ByteBuffer} slabs used as one ring.
+ * <p>
+ * Writes are appended at the ring position. When the ring wraps, the slab being written
+ * to is reused as a whole and everything previously stored in it is lost, so the store
+ * never needs compaction or a free list. Each slab remembers the ring position its current
+ * contents start at, which tells readers whether their bytes are still there.
+ * <p>
+ * Writers are serialized. Readers copy optimistically and only take the slab's read lock
+ * if a write to the same slab interfered.
+ */
+final class SlabStore {
+
+	private final ByteBuffer[] slabs;
+	private final long[] slabStart;
+	private final StampedLock[] locks;
+	private final int slabSize;
+	private long position;
+
+	SlabStore(long capacity, int slabSize) {
+		int count = (int)Math.max((capacity + slabSize - 1) / slabSize, 1);
+		this.slabs = new ByteBuffer[count];
+		this.slabStart = new long[count];
+		this.locks = new StampedLock[count];
+		this.slabSize = slabSize;
+
+		for (int i = 0; i < count; i++) {
+			locks[i] = new StampedLock();
+		}
+	}
+
+	/**
+	 * Store bytes and return their ring position, or -1 if they do not fit in a slab.
+	 */
+	synchronized long write(byte[] bytes) {
+		if (bytes.length > slabSize) {
+			return -1;
+		}
+		int offset = (int)(position % slabSize);
+
+		if (offset + bytes.length > slabSize) {
+			position += slabSize - offset;
+			offset = 0;
+		}
+		int index = index(position);
+		StampedLock lock = locks[index];
+		long stamp = lock.writeLock();
+
+		try {
+			if (offset == 0) {
+				if (slabs[index] == null) {
+					// Slabs are allocated on first use, an idle cache does not reserve its capacity.
+					slabs[index] = ByteBuffer.allocateDirect(slabSize);
+				}
+				slabStart[index] = position;
+			}
+			ByteBuffer slab = slabs[index];
+			slab.position(offset);
+			slab.put(bytes);
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+		long start = position;
+		position += bytes.length;
+		return start;
+	}
+
+	/**
+	 * Return a copy of bytes stored at a ring position, or null if they were overwritten.
+	 */
+	byte[] read(long position, int length) {
+		int index = index(position);
+		StampedLock lock = locks[index];
+		byte[] bytes = new byte[length];
+		long stamp = lock.tryOptimisticRead();
+
+		if (stamp != 0) {
+			boolean copied = copy(index, position, bytes);
+
+			if (lock.validate(stamp)) {
+				return copied ? bytes : null;
+			}
+		}
+		stamp = lock.readLock();
+
+		try {
+			return copy(index, position, bytes) ? bytes : null;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Return true if the bytes stored at a ring position were not overwritten yet.
+	 */
+	synchronized boolean contains(long position) {
+		return slabStart[index(position)] <= position;
+	}
+
+	private boolean copy(int index, long position, byte[] bytes) {
+		if (slabStart[index] > position) {
+			return false;
+		}
+		ByteBuffer slab = slabs[index].duplicate();
+		slab.position((int)(position % slabSize));
+		slab.get(bytes);
+		return true;
+	}
+
+	private int index(long position) {
+		return (int)((position / slabSize) % slabs.length);
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.eventloop;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+
+/**
+ * Selects the event loop the subscribing thread belongs to, so a request chain that
+ * started on an event loop (for example a WebFlux handler sharing the Netty event loop group)
+ * stays on that thread. Other threads are served by the fallback selector.
+ * <p>
+ * The lookup result is cached per thread.
+ */
+final class CallerAffineEventLoopSelector implements EventLoopSelector {
+
+	private static final EventLoop[] NOT_EVENT_LOOP = new EventLoop[1];
+
+	private final EventLoop[] loops;
+	private final EventLoopSelector fallback;
+	private final ThreadLocal<EventLoop[]> callerLoop = ThreadLocal.withInitial(this::findCallerLoop);
+
+	CallerAffineEventLoopSelector(EventLoops eventLoops, EventLoopSelector fallback) {
+		this.loops = eventLoops.getArray();
+		this.fallback = fallback;
+	}
+
+	@Override
+	public EventLoop select(Key key) {
+		EventLoop loop = callerLoop.get()[0];
+		return loop != null ? loop : fallback.select(key);
+	}
+
+	private EventLoop[] findCallerLoop() {
+		for (EventLoop loop : loops) {
+			if (loop.inEventLoop()) {
+				return new EventLoop[]{loop};
+			}
+		}
+		return NOT_EVENT_LOOP;
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.eventloop;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.async.EventLoop;
+
+/**
+ * Strategy used by {@link com.aerospike.client.reactor.AerospikeReactorClient} to pick
+ * the event loop a command is registered with.
+ * <p>
+ * The selector is invoked on subscription, right before the command is handed
+ * to the underlying async client.
+ *
+ * @see EventLoopSelectors
+ */
+@FunctionalInterface
+public interface EventLoopSelector {
+
+	/**
+	 * Select event loop for the command.
+	 *
+	 * @param key		unique record identifier of a single record command,
+	 *                  null for batch, scan, query and info commands
+	 * @return			event loop to run the command on, or null to let the
+	 * 					underlying client choose one in round-robin fashion
+	 */
+	EventLoop select(Key key);
+}
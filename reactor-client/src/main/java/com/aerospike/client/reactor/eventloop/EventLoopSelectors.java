@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.eventloop;
+
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.cluster.Partition;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory methods for the built-in {@link EventLoopSelector} strategies.
+ */
+public final class EventLoopSelectors {
+
+	private static final EventLoopSelector DEFAULT = key -> null;
+
+	private EventLoopSelectors() {
+	}
+
+	/**
+	 * Selector that leaves the choice to the underlying client (round-robin over all event loops).
+	 */
+	public static EventLoopSelector clientDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Selector that iterates over the event loops in round-robin fashion.
+	 */
+	public static EventLoopSelector roundRobin(EventLoops eventLoops) {
+		return key -> eventLoops.next();
+	}
+
+	/**
+	 * Selector that picks the event loop with the fewest commands currently in process.
+	 * The scan starts at a rotating offset, so idle loops are used evenly.
+	 */
+	public static EventLoopSelector leastLoaded(EventLoops eventLoops) {
+		final EventLoop[] loops = eventLoops.getArray();
+		final AtomicInteger offset = new AtomicInteger();
+		return key -> {
+			int size = loops.length;
+			int start = (offset.getAndIncrement() & Integer.MAX_VALUE) % size;
+			EventLoop selected = loops[start];
+			int min = selected.getProcessSize();
+
+			for (int i = 1; i < size && min > 0; i++) {
+				EventLoop loop = loops[(start + i) % size];
+				int processSize = loop.getProcessSize();
+
+				if (processSize < min) {
+					selected = loop;
+					min = processSize;
+				}
+			}
+			return selected;
+		};
+	}
+
+	/**
+	 * Selector that runs the command on the subscribing thread's event loop when the
+	 * subscription happens on one of the given event loops (NIO or Netty).
+	 * Commands subscribed from other threads are delegated to the fallback selector.
+	 *
+	 * @see SharedEventLoops
+	 */
+	public static EventLoopSelector callerAffine(EventLoops eventLoops, EventLoopSelector fallback) {
+		return new CallerAffineEventLoopSelector(eventLoops, fallback);
+	}
+
+	/**
+	 * Selector that maps single record commands to an event loop by partition id
+	 * (key digest to partition id to event loop), so commands for the same partition
+	 * always run on the same event loop.
+	 * Commands without a key fall back to round-robin.
+	 */
+	public static EventLoopSelector partitionAffine(EventLoops eventLoops) {
+		final EventLoop[] loops = eventLoops.getArray();
+		return key -> key != null
+				? loops[Partition.getPartitionId(key.digest) % loops.length]
+				: eventLoops.next();
+	}
+}
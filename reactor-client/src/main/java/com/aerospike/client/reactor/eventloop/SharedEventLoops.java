@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.eventloop;
+
+import com.aerospike.client.async.EventLoopType;
+import com.aerospike.client.async.EventPolicy;
+import com.aerospike.client.async.NettyEventLoops;
+import io.netty.channel.EventLoopGroup;
+
+/**
+ * Builds Aerospike {@link NettyEventLoops} on top of a Netty {@link EventLoopGroup} that is
+ * shared with other Netty based components (HTTP server, other clients).
+ * <p>
+ * Combined with {@link EventLoopSelectors#callerAffine(com.aerospike.client.async.EventLoops, EventLoopSelector)}
+ * commands issued from a handler running on the shared group are executed on the same thread
+ * and their results are delivered without a thread handoff.
+ * <p>
+ * The group stays owned by the component that created it. Close the Aerospike client
+ * before the group is shut down.
+ */
+public final class SharedEventLoops {
+
+	private SharedEventLoops() {
+	}
+
+	/**
+	 * Create event loops backed by the shared group with default event policy.
+	 *
+	 * @param group		shared Netty event loop group
+	 * @param type		transport type of the group (NETTY_NIO, NETTY_EPOLL, NETTY_KQUEUE or NETTY_IOURING)
+	 */
+	public static NettyEventLoops netty(EventLoopGroup group, EventLoopType type) {
+		return netty(new EventPolicy(), group, type);
+	}
+
+	/**
+	 * Create event loops backed by the shared group.
+	 *
+	 * @param policy	event loop configuration parameters
+	 * @param group		shared Netty event loop group
+	 * @param type		transport type of the group (NETTY_NIO, NETTY_EPOLL, NETTY_KQUEUE or NETTY_IOURING)
+	 */
+	public static NettyEventLoops netty(EventPolicy policy, EventLoopGroup group, EventLoopType type) {
+		if (type == EventLoopType.DIRECT_NIO) {
+			throw new IllegalArgumentException("Netty event loop type expected: " + type);
+		}
+		return new NettyEventLoops(policy, group, type);
+	}
+}
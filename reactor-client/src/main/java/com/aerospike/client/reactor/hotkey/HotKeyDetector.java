@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.hotkey;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.Key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link KeyTracker}s by namespace, set and operation, kept across report intervals.
+ */
+final class HotKeyDetector {
+
+	private static final HotKeyOperation[] OPERATIONS = HotKeyOperation.values();
+	// Set map key of keys without a set, concurrent maps do not take null keys.
+	private static final String NO_SET = "";
+
+	private final HotKeyPolicy policy;
+	private final ConcurrentHashMap<String, ConcurrentHashMap<String, AtomicReferenceArray<KeyTracker>>> trackers =
+			new ConcurrentHashMap<>();
+	private long intervalStart = System.nanoTime();
+
+	HotKeyDetector(HotKeyPolicy policy) {
+		this.policy = new HotKeyPolicy(policy);
+	}
+
+	void record(Key key, HotKeyOperation operation) {
+		tracker(key, operation).increment(key);
+	}
+
+	void record(Key[] keys, HotKeyOperation operation) {
+		for (Key key : keys) {
+			record(key, operation);
+		}
+	}
+
+	void recordAll(List<? extends BatchRecord> records, HotKeyOperation operation) {
+		for (BatchRecord record : records) {
+			record(record.key, operation);
+		}
+	}
+
+	/**
+	 * Report the hot keys of the current interval and start a new one.
+	 */
+	synchronized HotKeyReport report() {
+		long now = System.nanoTime();
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis(now - intervalStart);
+		intervalStart = now;
+		List<HotKeyReport.HotKey> hotKeys = new ArrayList<>();
+
+		for (ConcurrentHashMap<String, AtomicReferenceArray<KeyTracker>> sets : trackers.values()) {
+			for (AtomicReferenceArray<KeyTracker> operations : sets.values()) {
+				for (int i = 0; i < operations.length(); i++) {
+					KeyTracker tracker = operations.get(i);
+
+					if (tracker != null) {
+						hotKeys.addAll(tracker.report(OPERATIONS[i], policy.minCount));
+					}
+				}
+			}
+		}
+		hotKeys.sort(Comparator.comparingLong((HotKeyReport.HotKey hotKey) -> hotKey.count).reversed());
+		return new HotKeyReport(durationMillis, Collections.unmodifiableList(hotKeys));
+	}
+
+	private KeyTracker tracker(Key key, HotKeyOperation operation) {
+		// Plain gets first, computeIfAbsent locks even when the entry exists on Java 8.
+		ConcurrentHashMap<String, AtomicReferenceArray<KeyTracker>> sets = trackers.get(key.namespace);
+
+		if (sets == null) {
+			sets = trackers.computeIfAbsent(key.namespace, namespace -> new ConcurrentHashMap<>());
+		}
+		String setName = key.setName != null ? key.setName : NO_SET;
+		AtomicReferenceArray<KeyTracker> operations = sets.get(setName);
+
+		if (operations == null) {
+			operations = sets.computeIfAbsent(setName, name -> new AtomicReferenceArray<>(OPERATIONS.length));
+		}
+		int index = operation.ordinal();
+		KeyTracker tracker = operations.get(index);
+
+		if (tracker == null) {
+			KeyTracker created = new KeyTracker(policy.sketchWidth, policy.topKeys);
+			tracker = operations.compareAndSet(index, null, created) ? created : operations.get(index);
+		}
+		return tracker;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.hotkey;
+
+/**
+ * Configuration of {@link HotKeyReactorClient}.
+ */
+public final class HotKeyPolicy {
+
+	/**
+	 * Interval in milliseconds between hot key reports. Counts start over with every report.
+	 * <p>
+	 * Default: 10000
+	 */
+	public int reportIntervalMillis = 10000;
+
+	/**
+	 * Maximum number of hot keys tracked and reported per namespace, set and operation.
+	 * <p>
+	 * Default: 10
+	 */
+	public int topKeys = 10;
+
+	/**
+	 * Minimum number of accesses within a report interval for a key to be reported.
+	 * <p>
+	 * Default: 1000
+	 */
+	public long minCount = 1000;
+
+	/**
+	 * Number of counters per row of the count-min sketch of each namespace, set and operation,
+	 * rounded up to a power of two. Each sketch has four rows of 8 byte counters. Wider sketches
+	 * overestimate less when many distinct keys are accessed.
+	 * <p>
+	 * Default: 2048
+	 */
+	public int sketchWidth = 2048;
+
+	/**
+	 * Copy hot key policy from another hot key policy.
+	 */
+	public HotKeyPolicy(HotKeyPolicy other) {
+		this.reportIntervalMillis = other.reportIntervalMillis;
+		this.topKeys = other.topKeys;
+		this.minCount = other.minCount;
+		this.sketchWidth = other.sketchWidth;
+	}
+
+	/**
+	 * Default constructor.
+	 */
+	public HotKeyPolicy() {
+	}
+}
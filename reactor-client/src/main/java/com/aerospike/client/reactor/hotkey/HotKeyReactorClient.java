@@ -0,0 +1,553 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.hotkey;
+
+import com.aerospike.client.*;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.exp.Expression;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.OperationTemplate;
+import com.aerospike.client.reactor.PolicyProfiles;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorator that counts key accesses to report the hottest keys.
+ * <p>
+ * Every key read, written, operated on or passed to a UDF through this client, single-key or
+ * batch, is counted per namespace, set and {@link HotKeyOperation} in a count-min sketch that
+ * keeps track of the most frequent keys. {@link #hotKeys()} emits a {@link HotKeyReport} of the
+ * keys above {@link HotKeyPolicy#minCount} at every {@link HotKeyPolicy#reportIntervalMillis}.
+ * Keys are counted when a command is created, so a command subscribed to more than once is
+ * counted once.
+ * <p>
+ * Counting is lock-free, a lock is only taken when a key first becomes one of the hottest
+ * keys of its namespace, set and operation.
+ */
+public class HotKeyReactorClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final HotKeyDetector detector;
+	private final Flux<HotKeyReport> hotKeys;
+
+	public HotKeyReactorClient(IAerospikeReactorClient client, HotKeyPolicy policy) {
+		this.client = client;
+		this.detector = new HotKeyDetector(policy);
+		this.hotKeys = Flux.interval(Duration.ofMillis(policy.reportIntervalMillis))
+				.map(tick -> detector.report())
+				.share();
+	}
+
+	/**
+	 * Return the reports of hot keys, one per {@link HotKeyPolicy#reportIntervalMillis}. Each report
+	 * covers the accesses since the previous one. Subscribers share the same reports, reporting
+	 * stops while there are none.
+	 */
+	public Flux<HotKeyReport> hotKeys() {
+		return hotKeys;
+	}
+
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		detector.record(key, HotKeyOperation.READ);
+		return client.get(policy, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		detector.record(key, HotKeyOperation.READ);
+		return client.get(policy, key, binNames);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.get(policy, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys,
+									   int maxBatchSize, int maxConcurrentBatchesPerNode) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.get(policy, keys, maxBatchSize, maxConcurrentBatchesPerNode);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		detector.recordAll(records, HotKeyOperation.READ);
+		return client.get(policy, records);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.get(policy, keys, operations);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		detector.recordAll(records, HotKeyOperation.READ);
+		return client.getFlux(policy, records);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.getFlux(policy, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getFlux(null, keys, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Publisher<Key> keys,
+									int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.getFlux(policy, Flux.from(keys).doOnNext(key -> detector.record(key, HotKeyOperation.READ)),
+				batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getBatchReadFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(BatchPolicy policy, Publisher<BatchRead> records,
+											 int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.getBatchReadFlux(policy,
+				Flux.from(records).doOnNext(record -> detector.record(record.key, HotKeyOperation.READ)),
+				batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.getFlux(policy, keys, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		detector.record(key, HotKeyOperation.READ);
+		return client.getHeader(policy, key);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.getHeaders(policy, keys);
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.touch(policy, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		detector.record(key, HotKeyOperation.READ);
+		return client.exists(policy, key);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		detector.record(keys, HotKeyOperation.READ);
+		return client.exists(policy, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.READ);
+		return client.existsFlux(policy, keys);
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.put(policy, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.append(policy, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.prepend(policy, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.add(policy, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		detector.record(key, HotKeyOperation.WRITE);
+		return client.delete(policy, key);
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.WRITE);
+		return client.delete(batchPolicy, deletePolicy, keys);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		detector.record(key, HotKeyOperation.OPERATE);
+		return client.operate(policy, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, Object... values) throws AerospikeException {
+		return operate(null, key, template, values);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, Object... values)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(values));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, long value) throws AerospikeException {
+		return operate(null, key, template, value);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, long value)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(value));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.OPERATE);
+		return client.operate(batchPolicy, writePolicy, keys, ops);
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		detector.recordAll(records, HotKeyOperation.OPERATE);
+		return client.operate(policy, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(List<BatchRecord> records) throws AerospikeException {
+		return operateFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		detector.recordAll(records, HotKeyOperation.OPERATE);
+		return client.operateFlux(policy, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return operateFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return client.operateFlux(policy,
+				Flux.from(records).doOnNext(record -> detector.record(record.key, HotKeyOperation.OPERATE)),
+				batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public Mono<CommitStatus> commit(Txn txn) throws AerospikeException {
+		return client.commit(txn);
+	}
+
+	@Override
+	public Mono<AbortStatus> abort(Txn txn) throws AerospikeException {
+		return client.abort(txn);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return client.query(policy, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(int maxPageSize, Statement statement) throws AerospikeException {
+		return queryPaged(null, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(QueryPolicy policy, int maxPageSize, Statement statement) throws AerospikeException {
+		return client.queryPaged(policy, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAll(policy, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(int maxPageSize, String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAllPaged(null, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(ScanPolicy policy, int maxPageSize,
+											  String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAllPaged(policy, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		detector.record(key, HotKeyOperation.UDF);
+		return client.execute(policy, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<BatchResults> execute(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.UDF);
+		return client.execute(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Flux<BatchRecord> executeFlux(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		detector.record(keys, HotKeyOperation.UDF);
+		return client.executeFlux(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		return client.info(infoPolicy, node, command);
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		return client.info(infoPolicy, node, commands);
+    }
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return client.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx);
+	}
+
+    @Override
+    public Mono<Void> createIndex(Policy policy, String namespace, String setName, String indexName,
+                                  IndexType indexType, IndexCollectionType indexCollectionType, Expression expression) {
+        return client.createIndex(policy, namespace, setName, indexName, indexType, indexCollectionType, expression);
+    }
+
+    @Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return client.dropIndex(policy, namespace, setName, indexName);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public PolicyProfiles getPolicyProfiles() {
+		return client.getPolicyProfiles();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	@Override
+	public TxnVerifyPolicy getTxnVerifyPolicyDefault() {
+		return client.getTxnVerifyPolicyDefault();
+	}
+
+	@Override
+	public TxnRollPolicy getTxnRollPolicyDefault() {
+		return client.getTxnRollPolicyDefault();
+	}
+}
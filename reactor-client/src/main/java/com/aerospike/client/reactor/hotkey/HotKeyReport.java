@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.hotkey;
+
+import com.aerospike.client.Key;
+
+import java.util.List;
+
+/**
+ * Hot keys of one report interval of {@link HotKeyReactorClient}, hottest first.
+ */
+public final class HotKeyReport {
+
+	/**
+	 * Time in milliseconds covered by the report.
+	 */
+	public final long durationMillis;
+
+	/**
+	 * Keys accessed at least {@link HotKeyPolicy#minCount} times, by descending count.
+	 */
+	public final List<HotKey> hotKeys;
+
+	public HotKeyReport(long durationMillis, List<HotKey> hotKeys) {
+		this.durationMillis = durationMillis;
+		this.hotKeys = hotKeys;
+	}
+
+	@Override
+	public String toString() {
+		return "HotKeyReport{durationMillis=" + durationMillis + ", hotKeys=" + hotKeys + '}';
+	}
+
+	/**
+	 * Access count of one key.
+	 */
+	public static final class HotKey {
+
+		public final Key key;
+
+		public final HotKeyOperation operation;
+
+		/**
+		 * Estimated accesses of the key. The count-min sketch never underestimates, it may
+		 * overestimate by accesses to other keys sharing its counters.
+		 */
+		public final long count;
+
+		/**
+		 * Accesses of all keys of the same namespace, set and operation.
+		 */
+		public final long total;
+
+		public HotKey(Key key, HotKeyOperation operation, long count, long total) {
+			this.key = key;
+			this.operation = operation;
+			this.count = count;
+			this.total = total;
+		}
+
+		@Override
+		public String toString() {
+			return key + " " + operation + " " + count + "/" + total;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.hotkey;
+
+import com.aerospike.client.Key;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Access counts of the keys of one namespace, set and operation.
+ * <p>
+ * A count-min sketch with four rows indexed by digest bytes counts every key. Keys whose
+ * estimate exceeds the smallest estimate among the current candidates join the bounded
+ * candidate set, pushing out its least frequent member. Only joining takes a lock.
+ * <p>
+ * Counts are kept for two intervals, the current one and the one reported last. A report
+ * clears the counts of the older interval and makes it current, so report intervals do not
+ * allocate. Increments that read the current interval just before the switch land in the
+ * reported interval, they are cleared before it becomes current again.
+ */
+final class KeyTracker {
+
+	private static final int DEPTH = 4;
+
+	private final int width;
+	private final int maxCandidates;
+	private volatile Interval current;
+	private Interval reported;
+
+	KeyTracker(int width, int maxCandidates) {
+		this.width = Integer.highestOneBit(Math.max(width, 2) * 2 - 1);
+		this.maxCandidates = Math.max(maxCandidates, 1);
+		this.current = new Interval();
+		this.reported = new Interval();
+	}
+
+	void increment(Key key) {
+		current.increment(key);
+	}
+
+	/**
+	 * Return the candidates of the current interval counted at least minCount times and
+	 * start a new interval.
+	 */
+	synchronized List<HotKeyReport.HotKey> report(HotKeyOperation operation, long minCount) {
+		Interval ended = current;
+		reported.clear();
+		current = reported;
+		reported = ended;
+		return ended.hotKeys(operation, minCount);
+	}
+
+	private int index(byte[] digest, int row) {
+		int offset = row * 4;
+		int hash = (digest[offset] & 0xff) | (digest[offset + 1] & 0xff) << 8 |
+				(digest[offset + 2] & 0xff) << 16 | (digest[offset + 3] & 0xff) << 24;
+		return row * width + (hash & (width - 1));
+	}
+
+	private final class Interval {
+		private final AtomicLongArray counters = new AtomicLongArray(DEPTH * width);
+		private final LongAdder total = new LongAdder();
+		private final ConcurrentHashMap<Key, Boolean> candidates = new ConcurrentHashMap<>();
+		private volatile long threshold;
+
+		void increment(Key key) {
+			total.increment();
+			byte[] digest = key.digest;
+			long estimate = Long.MAX_VALUE;
+
+			for (int row = 0; row < DEPTH; row++) {
+				estimate = Math.min(estimate, counters.incrementAndGet(index(digest, row)));
+			}
+
+			if (estimate > threshold && !candidates.containsKey(key)) {
+				offer(key);
+			}
+		}
+
+		List<HotKeyReport.HotKey> hotKeys(HotKeyOperation operation, long minCount) {
+			List<HotKeyReport.HotKey> hotKeys = new ArrayList<>();
+			long total = this.total.sum();
+
+			for (Key key : candidates.keySet()) {
+				long count = estimate(key);
+
+				if (count >= minCount) {
+					hotKeys.add(new HotKeyReport.HotKey(key, operation, count, total));
+				}
+			}
+			return hotKeys;
+		}
+
+		synchronized void clear() {
+			for (int i = 0; i < counters.length(); i++) {
+				counters.set(i, 0);
+			}
+			total.reset();
+			candidates.clear();
+			threshold = 0;
+		}
+
+		private synchronized void offer(Key key) {
+			if (candidates.putIfAbsent(key, Boolean.TRUE) != null || candidates.size() <= maxCandidates) {
+				return;
+			}
+			// Drop the least frequent candidate, the next least frequent sets the bar for new ones.
+			Key coldest = null;
+			long lowest = Long.MAX_VALUE;
+			long secondLowest = Long.MAX_VALUE;
+
+			for (Key candidate : candidates.keySet()) {
+				long count = estimate(candidate);
+
+				if (count < lowest) {
+					secondLowest = lowest;
+					lowest = count;
+					coldest = candidate;
+				}
+				else if (count < secondLowest) {
+					secondLowest = count;
+				}
+			}
+			candidates.remove(coldest);
+			threshold = secondLowest;
+		}
+
+		private long estimate(Key key) {
+			byte[] digest = key.digest;
+			long estimate = Long.MAX_VALUE;
+
+			for (int row = 0; row < DEPTH; row++) {
+				estimate = Math.min(estimate, counters.get(index(digest, row)));
+			}
+			return estimate;
+		}
+	}
+}
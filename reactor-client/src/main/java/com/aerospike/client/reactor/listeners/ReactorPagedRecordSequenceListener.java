@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.listeners;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Record sequence listener that reads partitions page by page, sizing every page
+ * from the outstanding downstream demand.
+ * <p>
+ * A page is requested only when the previous one has completed and the subscriber
+ * still has demand, so the number of records held by the sink is bounded by the demand
+ * instead of the size of the scanned set. The cursor is kept by the {@link PartitionFilter}.
+ * <p>
+ * When the subscriber cancels, the running page is terminated on all nodes
+ * and no further pages are requested.
+ */
+public class ReactorPagedRecordSequenceListener implements RecordSequenceListener {
+
+	/**
+	 * Issues one page of the partition scan/query.
+	 */
+	@FunctionalInterface
+	public interface PageCommand {
+
+		/**
+		 * @param listener		listener receiving the page records
+		 * @param maxRecords	maximum number of records to return in the page
+		 */
+		void execute(RecordSequenceListener listener, long maxRecords);
+	}
+
+	private final FluxSink<KeyRecord> sink;
+	private final PartitionFilter partitionFilter;
+	private final long maxPageSize;
+	private final PageCommand pageCommand;
+
+	private final AtomicLong demand = new AtomicLong();
+	private final AtomicBoolean pageInFlight = new AtomicBoolean();
+
+	public ReactorPagedRecordSequenceListener(FluxSink<KeyRecord> sink, PartitionFilter partitionFilter,
+											  long maxPageSize, PageCommand pageCommand) {
+		if (maxPageSize <= 0) {
+			throw new IllegalArgumentException("maxPageSize must be positive: " + maxPageSize);
+		}
+		this.sink = sink;
+		this.partitionFilter = partitionFilter;
+		this.maxPageSize = maxPageSize;
+		this.pageCommand = pageCommand;
+	}
+
+	/**
+	 * Start paging, the first page is requested as soon as the subscriber signals demand.
+	 */
+	public void start() {
+		sink.onRequest(n -> {
+			demand.getAndUpdate(current -> Operators.addCap(Math.max(current, 0), n));
+			requestPage();
+		});
+	}
+
+	@Override
+	public void onRecord(Key key, Record record) throws AerospikeException {
+		if (sink.isCancelled()) {
+			// abort the page on all nodes, the subscriber is gone
+			throw new AerospikeException.QueryTerminated();
+		}
+		demand.decrementAndGet();
+		sink.next(new KeyRecord(key, record));
+	}
+
+	@Override
+	public void onSuccess() {
+		pageInFlight.set(false);
+
+		if (partitionFilter.isDone()) {
+			sink.complete();
+		}
+		else {
+			requestPage();
+		}
+	}
+
+	@Override
+	public void onFailure(AerospikeException exception) {
+		if (sink.isCancelled()) {
+			return;
+		}
+		sink.error(exception);
+	}
+
+	private void requestPage() {
+		long pageSize = Math.min(demand.get(), maxPageSize);
+
+		if (pageSize <= 0 || sink.isCancelled() || !pageInFlight.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			pageCommand.execute(this, pageSize);
+		}
+		catch (AerospikeException e) {
+			sink.error(e);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.listener.DeleteListener;
+import reactor.core.CoreSubscriber;
+
+/**
+ * {@link ListenerMono} for commands completed by a {@link DeleteListener}.
+ * Completes empty if the record did not exist.
+ */
+public abstract class DeleteMono extends ListenerMono<Key, DeleteListener> {
+
+	@Override
+	final ListenerSubscriber<Key, DeleteListener> createSubscriber(CoreSubscriber<? super Key> actual) {
+		return new DeleteSubscriber(actual);
+	}
+
+	static final class DeleteSubscriber extends ListenerSubscriber<Key, DeleteListener>
+			implements DeleteListener {
+
+		DeleteSubscriber(CoreSubscriber<? super Key> actual) {
+			super(actual);
+		}
+
+		@Override
+		DeleteListener listener() {
+			return this;
+		}
+
+		@Override
+		public void onSuccess(Key key, boolean existed) {
+			if (existed) {
+				success(key);
+			}
+			else {
+				successEmpty();
+			}
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			failure(exception);
+		}
+	}
+}
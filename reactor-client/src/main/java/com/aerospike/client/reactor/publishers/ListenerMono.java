@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+
+/**
+ * Mono that registers a single async command per subscription.
+ * <p>
+ * The subscriber created for each subscription is at the same time the subscription
+ * handed downstream and the async listener of the command, so a command allocates
+ * one publisher and one subscriber object instead of a create lambda, a sink wrapper
+ * and a separate listener.
+ *
+ * @param <T>	result type
+ * @param <L>	async listener type
+ */
+public abstract class ListenerMono<T, L> extends Mono<T> implements Fuseable {
+
+	@Override
+	public final void subscribe(CoreSubscriber<? super T> actual) {
+		ListenerSubscriber<T, L> subscriber = createSubscriber(actual);
+		actual.onSubscribe(subscriber);
+
+		if (subscriber.isCancelled()) {
+			return;
+		}
+
+		try {
+			execute(subscriber.listener());
+		}
+		catch (Throwable e) {
+			subscriber.failure(Operators.onOperatorError(e, actual.currentContext()));
+		}
+	}
+
+	/**
+	 * Pass a command publisher through the assembly hooks, such as the ones installed by
+	 * {@code Hooks.onOperatorDebug()}, as {@link Mono#create} does.
+	 *
+	 * @param command	command publisher
+	 * @param <T>		result type
+	 * @return the command, possibly decorated by the hooks
+	 */
+	public static <T> Mono<T> assemble(ListenerMono<T, ?> command) {
+		return onAssembly(command);
+	}
+
+	abstract ListenerSubscriber<T, L> createSubscriber(CoreSubscriber<? super T> actual);
+
+	/**
+	 * Register the command with the async client.
+	 *
+	 * @param listener	listener that completes this mono
+	 */
+	protected abstract void execute(L listener);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Operators;
+
+/**
+ * Subscription of a {@link ListenerMono} that also implements the command listener.
+ *
+ * @param <T>	result type
+ * @param <L>	async listener type
+ */
+abstract class ListenerSubscriber<T, L> extends Operators.MonoSubscriber<T, T> {
+
+	ListenerSubscriber(CoreSubscriber<? super T> actual) {
+		super(actual);
+	}
+
+	/**
+	 * @return this subscriber as the async listener
+	 */
+	abstract L listener();
+
+	final void success(T value) {
+		complete(value);
+	}
+
+	final void successEmpty() {
+		if (!isCancelled()) {
+			actual.onComplete();
+		}
+	}
+
+	final void failure(Throwable throwable) {
+		if (isCancelled()) {
+			Operators.onErrorDropped(throwable, actual.currentContext());
+		}
+		else {
+			actual.onError(throwable);
+		}
+	}
+}
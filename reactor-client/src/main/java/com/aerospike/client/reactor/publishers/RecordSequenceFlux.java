@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.query.KeyRecord;
+import reactor.core.CoreSubscriber;
+
+/**
+ * {@link SequenceFlux} for batch, scan and query commands fed by a {@link RecordSequenceListener}.
+ * <p>
+ * When the subscriber cancels, the next received record terminates the command
+ * on all nodes.
+ */
+public abstract class RecordSequenceFlux extends SequenceFlux<KeyRecord, RecordSequenceListener> {
+
+	@Override
+	final SequenceSubscription<KeyRecord, RecordSequenceListener> createSubscription(CoreSubscriber<? super KeyRecord> actual) {
+		return new RecordSequenceSubscription(actual);
+	}
+
+	static final class RecordSequenceSubscription extends SequenceSubscription<KeyRecord, RecordSequenceListener>
+			implements RecordSequenceListener {
+
+		RecordSequenceSubscription(CoreSubscriber<? super KeyRecord> actual) {
+			super(actual);
+		}
+
+		@Override
+		RecordSequenceListener listener() {
+			return this;
+		}
+
+		@Override
+		public void onRecord(Key key, Record record) throws AerospikeException {
+			if (isCancelled()) {
+				// abort the command on all nodes, the subscriber is gone
+				throw new AerospikeException.QueryTerminated();
+			}
+			next(new KeyRecord(key, record));
+		}
+
+		@Override
+		public void onSuccess() {
+			success();
+		}
+
+		@Override
+		public void onFailure(AerospikeException exception) {
+			failure(exception);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+/**
+ * Flux that registers a single async sequence command (batch, scan, query) per subscription.
+ * <p>
+ * Sequence listeners are called concurrently from the event loops of all involved nodes.
+ * The subscription created for each subscriber is also the listener: producers enqueue into
+ * a lock-free multi-producer queue and a single drain loop delivers the elements
+ * downstream with respect to backpressure.
+ *
+ * @param <T>	element type
+ * @param <L>	async listener type
+ */
+public abstract class SequenceFlux<T, L> extends Flux<T> {
+
+	@Override
+	public final void subscribe(CoreSubscriber<? super T> actual) {
+		SequenceSubscription<T, L> subscription = createSubscription(actual);
+		actual.onSubscribe(subscription);
+
+		if (subscription.isCancelled()) {
+			return;
+		}
+
+		try {
+			execute(subscription.listener());
+		}
+		catch (Throwable e) {
+			subscription.failure(Operators.onOperatorError(e, actual.currentContext()));
+		}
+	}
+
+	/**
+	 * Pass a command publisher through the assembly hooks, such as the ones installed by
+	 * {@code Hooks.onOperatorDebug()}, as {@link Flux#create} does.
+	 *
+	 * @param command	command publisher
+	 * @param <T>		element type
+	 * @return the command, possibly decorated by the hooks
+	 */
+	public static <T> Flux<T> assemble(SequenceFlux<T, ?> command) {
+		return onAssembly(command);
+	}
+
+	abstract SequenceSubscription<T, L> createSubscription(CoreSubscriber<? super T> actual);
+
+	/**
+	 * Register the command with the async client.
+	 *
+	 * @param listener	listener that feeds this flux
+	 */
+	protected abstract void execute(L listener);
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.publishers;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Subscription of a {@link SequenceFlux} that also implements the sequence listener.
+ * <p>
+ * Many producers (event loop threads) and one consumer: elements are offered to an
+ * unbounded MPSC queue and drained by whichever thread wins the work-in-progress counter.
+ *
+ * @param <T>	element type
+ * @param <L>	async listener type
+ */
+abstract class SequenceSubscription<T, L> implements Subscription {
+
+	final CoreSubscriber<? super T> actual;
+	final Queue<T> queue = Queues.<T>unboundedMultiproducer().get();
+
+	volatile boolean done;
+	Throwable error;
+
+	volatile boolean cancelled;
+
+	volatile long requested;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<SequenceSubscription> REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(SequenceSubscription.class, "requested");
+
+	volatile int wip;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<SequenceSubscription> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(SequenceSubscription.class, "wip");
+
+	SequenceSubscription(CoreSubscriber<? super T> actual) {
+		this.actual = actual;
+	}
+
+	/**
+	 * @return this subscription as the async listener
+	 */
+	abstract L listener();
+
+	final boolean isCancelled() {
+		return cancelled;
+	}
+
+	final void next(T value) {
+		if (cancelled) {
+			Operators.onDiscard(value, actual.currentContext());
+			return;
+		}
+		queue.offer(value);
+		drain();
+	}
+
+	final void success() {
+		done = true;
+		drain();
+	}
+
+	final void failure(Throwable throwable) {
+		if (done) {
+			Operators.onErrorDropped(throwable, actual.currentContext());
+			return;
+		}
+		if (cancelled) {
+			return;
+		}
+		error = throwable;
+		done = true;
+		drain();
+	}
+
+	@Override
+	public final void request(long n) {
+		if (Operators.validate(n)) {
+			Operators.addCap(REQUESTED, this, n);
+			drain();
+		}
+	}
+
+	@Override
+	public final void cancel() {
+		if (cancelled) {
+			return;
+		}
+		cancelled = true;
+		drain();
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+
+		int missed = 1;
+
+		for (;;) {
+			long r = requested;
+			long e = 0L;
+
+			while (e != r) {
+				if (cancelled) {
+					break;
+				}
+
+				boolean d = done;
+				T value = queue.poll();
+				boolean empty = value == null;
+
+				if (d && empty) {
+					terminate();
+					break;
+				}
+
+				if (empty) {
+					break;
+				}
+
+				actual.onNext(value);
+				e++;
+			}
+
+			if (!cancelled && e == r && done && queue.isEmpty()) {
+				terminate();
+			}
+
+			if (cancelled) {
+				// keep draining after cancel or termination, so a late producer cannot leave elements behind
+				clear();
+			}
+
+			if (e != 0L) {
+				Operators.produced(REQUESTED, this, e);
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Signal the end of the sequence. Marks the subscription cancelled, so that elements other
+	 * nodes still deliver are discarded.
+	 */
+	private void terminate() {
+		cancelled = true;
+		Throwable ex = error;
+		if (ex != null) {
+			actual.onError(ex);
+		}
+		else {
+			actual.onComplete();
+		}
+	}
+
+	private void clear() {
+		Operators.onDiscardQueueWithClear(queue, actual.currentContext(), null);
+	}
+}
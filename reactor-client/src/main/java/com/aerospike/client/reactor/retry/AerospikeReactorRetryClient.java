@@ -26,15 +26,19 @@ import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.OperationTemplate;
+import com.aerospike.client.reactor.PolicyProfiles;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -79,6 +83,12 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.get(policy, keys).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys,
+									   int maxBatchSize, int maxConcurrentBatchesPerNode) throws AerospikeException {
+		return client.get(policy, keys, maxBatchSize, maxConcurrentBatchesPerNode).retryWhen(retryPolicy);
+	}
+
 	@Override
 	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
 		return get(null, records);
@@ -119,6 +129,32 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.getFlux(policy, keys).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Flux<KeyRecord> getFlux(Publisher<Key> keys, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getFlux(null, keys, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Publisher<Key> keys,
+									int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(keys)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> getFlux(policy, batch.toArray(new Key[0])), maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(Publisher<BatchRead> records, int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return getBatchReadFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRead> getBatchReadFlux(BatchPolicy policy, Publisher<BatchRead> records,
+											 int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(records)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> getFlux(policy, batch), maxConcurrentBatches);
+	}
+
 	@Override
 	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
 		return getFlux(null, keys, operations);
@@ -255,6 +291,28 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.operate(policy, key, operations).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, Object... values) throws AerospikeException {
+		return operate(null, key, template, values);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, Object... values)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(values));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, OperationTemplate template, long value) throws AerospikeException {
+		return operate(null, key, template, value);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, OperationTemplate template, long value)
+			throws AerospikeException {
+		return operate(policy, key, template.bind(value));
+	}
+
 	@Override
 	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
 									  Operation... ops) throws AerospikeException {
@@ -266,6 +324,30 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.operate(policy, records).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Flux<BatchRecord> operateFlux(List<BatchRecord> records) throws AerospikeException {
+		return operateFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return client.operateFlux(policy, records).retryWhen(retryPolicy);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return operateFlux(null, records, batchSize, maxWait, maxConcurrentBatches);
+	}
+
+	@Override
+	public final Flux<BatchRecord> operateFlux(BatchPolicy policy, Publisher<BatchRecord> records,
+											   int batchSize, Duration maxWait, int maxConcurrentBatches) throws AerospikeException {
+		return Flux.from(records)
+				.bufferTimeout(batchSize, maxWait, true)
+				.flatMap(batch -> operateFlux(policy, batch), maxConcurrentBatches);
+	}
+
 	@Override
 	public Mono<CommitStatus> commit(Txn txn) throws AerospikeException {
 		return client.commit(txn).retryWhen(retryPolicy);
@@ -286,6 +368,16 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.query(policy, statement).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Flux<KeyRecord> queryPaged(int maxPageSize, Statement statement) throws AerospikeException {
+		return queryPaged(null, maxPageSize, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPaged(QueryPolicy policy, int maxPageSize, Statement statement) throws AerospikeException {
+		return client.queryPaged(policy, maxPageSize, statement).retryWhen(retryPolicy);
+	}
+
 	@Override
 	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
 		return scanAll(null, namespace, setName, binNames);
@@ -296,6 +388,17 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.scanAll(policy, namespace, setName, binNames).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(int maxPageSize, String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAllPaged(null, maxPageSize, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAllPaged(ScanPolicy policy, int maxPageSize,
+											  String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAllPaged(policy, maxPageSize, namespace, setName, binNames).retryWhen(retryPolicy);
+	}
+
 	@Override
 	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
 		return execute(null, key, packageName, functionName, functionArgs);
@@ -307,6 +410,18 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.execute(policy, key, packageName, functionName, functionArgs).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Mono<BatchResults> execute(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return client.execute(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs).retryWhen(retryPolicy);
+	}
+
+	@Override
+	public final Flux<BatchRecord> executeFlux(BatchPolicy batchPolicy, BatchUDFPolicy udfPolicy, Key[] keys,
+											   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return client.executeFlux(batchPolicy, udfPolicy, keys, packageName, functionName, functionArgs).retryWhen(retryPolicy);
+	}
+
 	@Override
 	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
 		return client.info(infoPolicy, node, command).retryWhen(retryPolicy);
@@ -342,6 +457,11 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.getAerospikeClient();
 	}
 
+	@Override
+	public PolicyProfiles getPolicyProfiles() {
+		return client.getPolicyProfiles();
+	}
+
 	@Override
 	public Policy getReadPolicyDefault() {
 		return client.getReadPolicyDefault();
@@ -36,12 +36,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -144,6 +146,38 @@ public class BatchReactorTest extends ReactorTest {
 				.verifyComplete();
 	}
 
+	@Test
+	public void batchGetArraySplitByNode() {
+		Key[] keys = Stream.concat(Arrays.stream(sendKeys), Arrays.stream(notSendKeys)).toArray(Key[]::new);
+		Mono<KeysRecords> mono = reactorClient.get(null, keys, 3, 1);
+
+		StepVerifier.create(mono)
+				.expectNextMatches(keysRecords -> {
+					assertThat(keysRecords.keys).isSameAs(keys);
+					for (int i = 0; i < SIZE; i++) {
+						if (i != 5) {
+							assertBinEqual(keysRecords.keys[i], keysRecords.records[i], binName, VALUE_PREFIX + (i + 1));
+						} else {
+							assertBinEqual(keysRecords.keys[i], keysRecords.records[i], binName, i + 1L);
+						}
+					}
+					assertThat(Arrays.copyOfRange(keysRecords.records, SIZE, keys.length)).containsOnlyNulls();
+					return true;
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchGetArraySplitByNodeRejectsInvalidLimits() {
+		StepVerifier.create(reactorClient.get(null, sendKeys, 0, 1))
+				.verifyErrorMatches(throwable -> throwable instanceof AerospikeException
+						&& ((AerospikeException) throwable).getResultCode() == ResultCode.PARAMETER_ERROR);
+
+		StepVerifier.create(reactorClient.get(null, sendKeys, 3, 0))
+				.verifyErrorMatches(throwable -> throwable instanceof AerospikeException
+						&& ((AerospikeException) throwable).getResultCode() == ResultCode.PARAMETER_ERROR);
+	}
+
 	@Test
 	public void batchGetArray() {
 		Mono<KeysRecords> mono = reactorClient.get(sendKeys);
@@ -192,6 +226,43 @@ public class BatchReactorTest extends ReactorTest {
 				.verifyComplete();
 	}
 
+	@Test
+	public void batchGetKeyStream() {
+		Flux<KeyRecord> flux = reactorClient.getFlux(
+				Flux.concat(Flux.fromArray(sendKeys), Flux.fromArray(notSendKeys)), 3, Duration.ofMillis(10), 2);
+
+		StepVerifier.create(flux)
+				.recordWith(ArrayList::new)
+				.expectNextCount(sendKeys.length + notSendKeys.length)
+				.consumeRecordedWith(results -> {
+					assertThat(results).filteredOn(keyRecord -> keyRecord.record != null)
+							.extracting(keyRecord -> keyRecord.key)
+							.containsExactlyInAnyOrder(sendKeys);
+					assertThat(results).filteredOn(keyRecord -> keyRecord.record == null)
+							.extracting(keyRecord -> keyRecord.key)
+							.containsExactlyInAnyOrder(notSendKeys);
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchGetBatchReadStream() {
+		Flux<BatchRead> flux = reactorClient.getBatchReadFlux(
+				Flux.fromArray(sendKeys).map(key -> new BatchRead(key, new String[]{binName})), 3, Duration.ofMillis(10), 2);
+
+		StepVerifier.create(flux)
+				.recordWith(ArrayList::new)
+				.expectNextCount(sendKeys.length)
+				.consumeRecordedWith(results -> assertThat(results)
+						.extracting(batchRead -> {
+							assertRecordFound(batchRead.key, batchRead.record);
+							assertThat(batchRead.record.getValue(binName)).isNotNull();
+							return true;
+						})
+						.containsOnly(true))
+				.verifyComplete();
+	}
+
 	@Test
 	public void batchGetHeaders() {
 		Mono<KeysRecords> mono = reactorClient.getHeaders(sendKeys);
@@ -327,4 +398,39 @@ public class BatchReactorTest extends ReactorTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    public void operateBatchRecordsFlux() {
+        List<BatchRecord> batchRecords = Arrays.stream(sendKeys)
+                .map(key -> new BatchWrite(key, Operation.array(Operation.put(new Bin("intBin", 100)))))
+                .collect(Collectors.toList());
+
+        StepVerifier.create(reactorClient.operateFlux(null, batchRecords))
+                .recordWith(ArrayList::new)
+                .expectNextCount(sendKeys.length)
+                .consumeRecordedWith(results -> assertThat(results)
+                        .extracting(batchRecord -> batchRecord.resultCode)
+                        .containsOnly(ResultCode.OK))
+                .verifyComplete();
+    }
+
+    @Test
+    public void operateBatchRecordStream() {
+        Flux<BatchRecord> records = Flux.concat(
+                Flux.fromArray(sendKeys).map(BatchDelete::new),
+                Flux.fromArray(notSendKeys).map(BatchDelete::new));
+
+        StepVerifier.create(reactorClient.operateFlux(records, 3, Duration.ofMillis(10), 2))
+                .recordWith(ArrayList::new)
+                .expectNextCount(sendKeys.length + notSendKeys.length)
+                .consumeRecordedWith(results -> {
+                    assertThat(results).filteredOn(batchRecord -> batchRecord.resultCode == ResultCode.OK)
+                            .extracting(batchRecord -> batchRecord.key)
+                            .containsExactlyInAnyOrder(sendKeys);
+                    assertThat(results).filteredOn(batchRecord -> batchRecord.resultCode == ResultCode.KEY_NOT_FOUND_ERROR)
+                            .extracting(batchRecord -> batchRecord.key)
+                            .containsExactlyInAnyOrder(notSendKeys);
+                })
+                .verifyComplete();
+    }
 }
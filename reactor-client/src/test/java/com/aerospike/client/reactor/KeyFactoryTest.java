@@ -0,0 +1,41 @@
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.Key;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyFactoryTest {
+
+    private final KeyFactory keyFactory = new KeyFactory(1024);
+
+    @Test
+    public void shouldReuseKeys(){
+        Key stringKey = keyFactory.key("ns", "set", "user");
+        Key longKey = keyFactory.key("ns", "set", 42L);
+
+        assertThat(keyFactory.key("ns", "set", "user")).isSameAs(stringKey);
+        assertThat(keyFactory.key("ns", "set", 42L)).isSameAs(longKey);
+        assertThat(stringKey).isEqualTo(new Key("ns", "set", "user"));
+        assertThat(longKey).isEqualTo(new Key("ns", "set", 42L));
+    }
+
+    @Test
+    public void shouldDistinguishNamespaceSetAndKeyType(){
+        Key key = keyFactory.key("ns", "set", 1L);
+
+        assertThat(keyFactory.key("ns", "set", "1")).isNotSameAs(key);
+        assertThat(keyFactory.key("ns", "other", 1L).setName).isEqualTo("other");
+        assertThat(keyFactory.key("other", "set", 1L).namespace).isEqualTo("other");
+        assertThat(keyFactory.key("ns", null, 1L).setName).isNull();
+    }
+
+    @Test
+    public void shouldStayCorrectWhenFull(){
+        KeyFactory small = new KeyFactory(1);
+
+        for (long i = 0; i < 1000; i++) {
+            assertThat(small.key("ns", "set", i)).isEqualTo(new Key("ns", "set", i));
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.aerospike.client.reactor;
 
 import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
 import com.aerospike.client.Value;
 import com.aerospike.client.cdt.ListOperation;
 import com.aerospike.client.cdt.MapOperation;
@@ -105,4 +106,50 @@ public class OperateReactorTest extends ReactorTest {
 				.verifyComplete();
 	}
 
+	@Test
+	public void operateTemplate() {
+		final Key key = new Key(args.namespace, args.set, "aoptkey1");
+		String nameBin = args.getBinName("optname");
+		OperationTemplate template = OperationTemplate.builder()
+				.add(binName)
+				.append(nameBin)
+				.operation(Operation.get())
+				.build();
+
+		Mono<KeyRecord> mono = reactorClient.delete(key)
+				.switchIfEmpty(Mono.just(key))
+				.flatMap(key1 -> reactorClient.operate(key, template, 2, "a"))
+				.flatMap(keyRecord -> reactorClient.operate(key, template, 3, "b"));
+
+		StepVerifier.create(mono)
+				.expectNextMatches(keyRecord -> {
+					assertRecordFound(keyRecord.key, keyRecord.record);
+					assertThat(keyRecord.record.getLong(binName)).isEqualTo(5);
+					assertThat(keyRecord.record.getString(nameBin)).isEqualTo("ab");
+					return true;
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void operateTemplateWithLong() {
+		final Key key = new Key(args.namespace, args.set, "aoptkey2");
+		OperationTemplate template = OperationTemplate.builder()
+				.add(binName)
+				.operation(Operation.get())
+				.build();
+
+		Mono<KeyRecord> mono = reactorClient.delete(key)
+				.switchIfEmpty(Mono.just(key))
+				.flatMap(key1 -> reactorClient.operate(key, template, 2L))
+				.flatMap(keyRecord -> reactorClient.operate(null, key, template, 3L));
+
+		StepVerifier.create(mono)
+				.expectNextMatches(keyRecord -> {
+					assertRecordFound(keyRecord.key, keyRecord.record);
+					assertThat(keyRecord.record.getLong(binName)).isEqualTo(5);
+					return true;
+				})
+				.verifyComplete();
+	}
 }
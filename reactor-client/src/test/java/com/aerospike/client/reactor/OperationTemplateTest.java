@@ -0,0 +1,51 @@
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Operation;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OperationTemplateTest {
+
+    private final Operation touch = Operation.touch();
+
+    private final OperationTemplate template = OperationTemplate.builder()
+            .add("counter")
+            .operation(Operation.get("counter"))
+            .operation(touch)
+            .build();
+
+    @Test
+    public void shouldBindParametersAndShareFixedOperations(){
+        Operation[] operations = template.bind(5);
+
+        assertThat(template.getParameterCount()).isEqualTo(1);
+        assertThat(operations).hasSize(3);
+        assertThat(operations[0].type).isEqualTo(Operation.Type.ADD);
+        assertThat(operations[0].binName).isEqualTo("counter");
+        assertThat(operations[0].value.toLong()).isEqualTo(5);
+        assertThat(operations[2]).isSameAs(touch);
+        assertThat(template.bind(7L)[0].value.toLong()).isEqualTo(7);
+        assertThat(template.bind((Object)2.5)[0].value.getObject()).isEqualTo(2.5);
+    }
+
+    @Test
+    public void shouldRejectMismatchedValues(){
+        assertThatThrownBy(() -> template.bind())
+                .isInstanceOf(AerospikeException.class);
+        assertThatThrownBy(() -> template.bind("text"))
+                .isInstanceOf(AerospikeException.class);
+        assertThatThrownBy(() -> OperationTemplate.builder().append("name").build().bind(1))
+                .isInstanceOf(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldValidateOnBuild(){
+        assertThatThrownBy(() -> OperationTemplate.builder().build())
+                .isInstanceOf(AerospikeException.class);
+        assertThatThrownBy(() -> OperationTemplate.builder().add("bin_name_too_long"))
+                .isInstanceOf(AerospikeException.class);
+    }
+}
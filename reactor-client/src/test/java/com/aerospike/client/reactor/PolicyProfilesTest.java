@@ -0,0 +1,62 @@
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PolicyProfilesTest {
+
+    private static PolicyProfiles profiles() {
+        Policy fastRead = new Policy();
+        fastRead.totalTimeout = 50;
+        WritePolicy bulkWrite = new WritePolicy();
+        bulkWrite.totalTimeout = 5000;
+        bulkWrite.sendKey = true;
+        Map<String, Policy> bases = new HashMap<>();
+        bases.put("fast-read", fastRead);
+        bases.put("bulk-write", bulkWrite);
+        return new PolicyProfiles(bases);
+    }
+
+    @Test
+    public void shouldDeriveAllPoliciesOnce(){
+        PolicyProfiles profiles = profiles();
+        PolicyProfile fastRead = profiles.get("fast-read");
+
+        assertThat(fastRead.getReadPolicy().totalTimeout).isEqualTo(50);
+        assertThat(fastRead.getWritePolicy().totalTimeout).isEqualTo(50);
+        assertThat(fastRead.getBatchPolicy().totalTimeout).isEqualTo(50);
+        assertThat(profiles.get("fast-read")).isSameAs(fastRead);
+    }
+
+    @Test
+    public void shouldKeepWriteSettingsOfWriteBase(){
+        PolicyProfile bulkWrite = profiles().get("bulk-write");
+
+        assertThat(bulkWrite.getWritePolicy().sendKey).isTrue();
+        assertThat(bulkWrite.getReadPolicy().totalTimeout).isEqualTo(5000);
+    }
+
+    @Test
+    public void shouldShareInfoPolicyOfProfilePolicies(){
+        PolicyProfiles profiles = profiles();
+        PolicyProfile fastRead = profiles.get("fast-read");
+
+        assertThat(profiles.infoPolicyOf(fastRead.getReadPolicy())).isSameAs(fastRead.getInfoPolicy());
+        assertThat(profiles.infoPolicyOf(fastRead.getBatchPolicy())).isSameAs(fastRead.getInfoPolicy());
+        assertThat(profiles.infoPolicyOf(new Policy())).isNull();
+    }
+
+    @Test
+    public void shouldRejectUnknownProfile(){
+        assertThatThrownBy(() -> profiles().get("unknown"))
+                .isInstanceOf(AerospikeException.class);
+    }
+}
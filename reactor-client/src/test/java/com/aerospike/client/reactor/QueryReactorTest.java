@@ -113,4 +113,36 @@ public class QueryReactorTest extends ReactorTest {
 
 	}
 
+	@Test
+	public void queryPaged() {
+
+		int begin = 10;
+		int end = 39;
+
+		Flux<KeyRecord> flux = Mono.zip(
+				IntStream.range(0, size)
+						.mapToObj(i -> {
+							final Key key = new Key(args.namespace, args.set, keyPrefix + i);
+							Bin bin = new Bin(binName, i);
+							return reactorClient.put(key, bin);
+						}).collect(Collectors.toList()),
+				objects -> objects)
+		.flatMapMany(objects -> {
+			Statement stmt = new Statement();
+			stmt.setNamespace(args.namespace);
+			stmt.setSetName(args.set);
+			stmt.setBinNames(binName);
+			stmt.setFilter(Filter.range(binName, begin, end));
+
+			return reactorClient.queryPaged(4, stmt);
+		});
+
+		StepVerifier.create(flux, 0)
+				.thenRequest(5)
+				.expectNextCount(5)
+				.thenRequest(Long.MAX_VALUE)
+				.expectNextCount(25)
+				.verifyComplete();
+	}
+
 }
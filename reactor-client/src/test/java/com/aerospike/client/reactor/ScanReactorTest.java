@@ -53,4 +53,24 @@ public class ScanReactorTest extends ReactorTest {
 				.expectNextCount(size)
 				.verifyComplete();
    }
+
+	@Test
+	public void scanPaged() {
+		Flux<KeyRecord> flux = Mono.zip(
+				IntStream.range(0, size)
+						.mapToObj(i -> {
+							final Key key = new Key(args.namespace, args.set, keyPrefix + i);
+							Bin bin = new Bin(binName, i);
+							return reactorClient.put(key, bin);
+						}).collect(Collectors.toList()),
+				objects -> objects)
+				.flatMapMany(objects -> reactorClient.scanAllPaged(7, args.namespace, args.set, binName));
+
+		StepVerifier.create(flux, 0)
+				.thenRequest(10)
+				.expectNextCount(10)
+				.thenRequest(Long.MAX_VALUE)
+				.expectNextCount(size - 10)
+				.verifyComplete();
+	}
 }
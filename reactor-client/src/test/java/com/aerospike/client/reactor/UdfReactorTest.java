@@ -16,18 +16,24 @@
  */
 package com.aerospike.client.reactor;
 
+import com.aerospike.client.BatchRecord;
 import com.aerospike.client.Bin;
 import com.aerospike.client.Key;
 import com.aerospike.client.Language;
+import com.aerospike.client.ResultCode;
 import com.aerospike.client.Value;
 import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysRecords;
 import com.aerospike.client.reactor.util.Args;
 import com.aerospike.client.task.RegisterTask;
 import org.junit.Before;
 import org.junit.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class UdfReactorTest extends ReactorTest {
@@ -64,4 +70,50 @@ public class UdfReactorTest extends ReactorTest {
 				})
 				.verifyComplete();
 	}
+
+	@Test
+	public void udfBatch() {
+		final Key[] keys = {
+				new Key(args.namespace, args.set, "audfbatchkey1"),
+				new Key(args.namespace, args.set, "audfbatchkey2")
+		};
+		final Bin bin = new Bin(binName, "batch value");
+
+		Mono<KeysRecords> mono = reactorClient.execute(null, null, keys,
+				"record_example", "writeBin", Value.get(bin.name), bin.value)
+				.doOnNext(batchResults -> {
+					assertThat(batchResults.status).isTrue();
+					assertThat(batchResults.records).extracting(record -> record.resultCode).containsOnly(ResultCode.OK);
+				})
+				.then(reactorClient.get(keys));
+
+		StepVerifier.create(mono)
+				.expectNextMatches(keysRecords -> {
+					assertThat(keysRecords.records).extracting(record -> record.getString(bin.name))
+							.containsOnly("batch value");
+					return true;
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void udfBatchFlux() {
+		final Key[] keys = {
+				new Key(args.namespace, args.set, "audfbatchkey3"),
+				new Key(args.namespace, args.set, "audfbatchkey4")
+		};
+		final Bin bin = new Bin(binName, "batch flux value");
+
+		Flux<BatchRecord> flux = reactorClient.executeFlux(null, null, keys,
+				"record_example", "writeBin", Value.get(bin.name), bin.value);
+
+		StepVerifier.create(flux)
+				.recordWith(ArrayList::new)
+				.expectNextCount(keys.length)
+				.consumeRecordedWith(results -> {
+					assertThat(results).extracting(record -> record.key).containsExactlyInAnyOrder(keys);
+					assertThat(results).extracting(record -> record.resultCode).containsOnly(ResultCode.OK);
+				})
+				.verifyComplete();
+	}
 }
@@ -0,0 +1,116 @@
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchOperateListListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelectors;
+import com.aerospike.client.reactor.publishers.WriteMono;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class AddCoalescerTest extends BatcherTest<BatchRecord> {
+
+    private static final Key KEY1 = new Key("a", "b", 1);
+    private static final Key KEY2 = new Key("a", "b", 2);
+
+    private final List<Bin[]> adds = new ArrayList<>();
+
+    {
+        when(client.getWritePolicyDefault()).thenReturn(new WritePolicy());
+
+        doAnswer(invocation -> {
+            adds.add((Bin[]) invocation.getRawArguments()[4]);
+            invocation.<WriteListener>getArgument(1).onSuccess(invocation.getArgument(3));
+            return null;
+        }).when(client).add(any(), any(WriteListener.class), any(), any(Key.class), any(Bin[].class));
+
+        doAnswer(respond((invocation, records) -> invocation.<BatchOperateListListener>getArgument(1).onSuccess(records, true)))
+                .when(client).operate(any(), any(BatchOperateListListener.class), any(), anyList());
+    }
+
+    private AddCoalescer coalescer(int maxIncrements) {
+        AutoBatchPolicy policy = policy(maxIncrements);
+        policy.coalesceAdds = true;
+        return new AddCoalescer(client, EventLoopSelectors.clientDefault(), scheduler, policy);
+    }
+
+    private static Mono<Key> add(AddCoalescer coalescer, Key key, Bin... bins) {
+        return new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                coalescer.add(key, bins, listener);
+            }
+        };
+    }
+
+    @Test
+    public void shouldSumIncrementsOfSameKey(){
+        AddCoalescer coalescer = coalescer(100);
+
+        StepVerifier.create(Mono.zip(
+                        add(coalescer, KEY1, new Bin("count", 1), new Bin("total", 10)),
+                        add(coalescer, KEY1, new Bin("count", 2)),
+                        add(coalescer, new Key("a", "b", 1), new Bin("total", 5))))
+                .then(() -> assertThat(adds).isEmpty())
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(adds).hasSize(1);
+        assertThat(adds.get(0)).extracting(bin -> bin.name).containsExactly("count", "total");
+        assertThat(adds.get(0)).extracting(bin -> bin.value.toLong()).containsExactly(3L, 15L);
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    public void shouldWriteSeveralKeysInOneBatch(){
+        AddCoalescer coalescer = coalescer(3);
+
+        StepVerifier.create(Mono.zip(
+                        add(coalescer, KEY1, new Bin("count", 1)),
+                        add(coalescer, KEY2, new Bin("count", 1)),
+                        add(coalescer, KEY1, new Bin("count", 1))))
+                .expectNextMatches(tuple -> tuple.getT1() == KEY1 && tuple.getT2() == KEY2 && tuple.getT3() == KEY1)
+                .verifyComplete();
+
+        assertThat(adds).isEmpty();
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(record -> record.key).containsExactly(KEY1, KEY2);
+    }
+
+    @Test
+    public void shouldFailAllCallersOfFailedKey(){
+        doAnswer(invocation -> {
+            invocation.<WriteListener>getArgument(1).onFailure(new AerospikeException(ResultCode.BIN_TYPE_ERROR));
+            return null;
+        }).when(client).add(any(), any(WriteListener.class), any(), any(Key.class), any(Bin[].class));
+        AddCoalescer coalescer = coalescer(2);
+
+        StepVerifier.create(Mono.zipDelayError(add(coalescer, KEY1, new Bin("count", 1)), add(coalescer, KEY1, new Bin("count", 1))))
+                .verifyError();
+    }
+
+    @Test
+    public void shouldCoalesceIntegerBinsOnly(){
+        assertThat(AddCoalescer.canCoalesce(new Bin[]{new Bin("a", 1), new Bin("b", 2L)})).isTrue();
+        assertThat(AddCoalescer.canCoalesce(new Bin[]{new Bin("a", 1), new Bin("b", 1.5)})).isFalse();
+        assertThat(AddCoalescer.canCoalesce(new Bin[]{new Bin("a", "x")})).isFalse();
+        assertThat(AddCoalescer.canCoalesce(new Bin[0])).isFalse();
+    }
+}
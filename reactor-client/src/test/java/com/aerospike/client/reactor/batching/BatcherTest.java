@@ -0,0 +1,59 @@
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fixture of the batcher tests: a mocked client, virtual time for the batch window and the
+ * batches the client received.
+ *
+ * @param <R>	record type of the batch calls
+ */
+abstract class BatcherTest<R extends BatchRecord> {
+
+    static final Record RECORD = new Record(Collections.singletonMap("bin", 1L), 1, 0);
+
+    final IAerospikeClient client = mock(IAerospikeClient.class);
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    final List<List<R>> batches = new ArrayList<>();
+
+    /**
+     * Policy with a one millisecond window, the batching mode is left to the test.
+     */
+    static AutoBatchPolicy policy(int maxBatchSize) {
+        AutoBatchPolicy policy = new AutoBatchPolicy();
+        policy.windowMicros = 1000;
+        policy.maxBatchSize = maxBatchSize;
+        return policy;
+    }
+
+    /**
+     * Answer to a batch call that sets the result codes of its records in order, or OK for all
+     * records if none are given, and then passes the records to the listener.
+     */
+    Answer<Object> respond(BiConsumer<InvocationOnMock, List<R>> listener, int... resultCodes) {
+        return invocation -> {
+            List<R> records = invocation.getArgument(3);
+            for (int i = 0; i < records.size(); i++) {
+                R record = records.get(i);
+                record.resultCode = resultCodes.length == 0 ? ResultCode.OK : resultCodes[i];
+                record.record = record.resultCode == ResultCode.OK ? RECORD : null;
+            }
+            batches.add(records);
+            listener.accept(invocation, records);
+            return null;
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRead;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchListListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.Replica;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.eventloop.EventLoopSelectors;
+import com.aerospike.client.reactor.publishers.RecordMono;
+import org.junit.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReadBatcherTest extends BatcherTest<BatchRead> {
+
+    private static final Key KEY1 = new Key("a", "b", 1);
+    private static final Key KEY2 = new Key("a", "b", 2);
+    private static final Key KEY3 = new Key("a", "b", 3);
+
+    private final List<BatchPolicy> batchPolicies = new ArrayList<>();
+    private final Policy readPolicy = new Policy();
+    private final BatchPolicy batchPolicyDefault = new BatchPolicy();
+
+    private ReadBatcher batcher(int maxBatchSize) {
+        return batcher(maxBatchSize, null);
+    }
+
+    private ReadBatcher batcher(int maxBatchSize, BatchPolicy batchPolicy) {
+        when(client.getReadPolicyDefault()).thenReturn(readPolicy);
+        when(client.getBatchPolicyDefault()).thenReturn(batchPolicyDefault);
+        AutoBatchPolicy policy = policy(maxBatchSize);
+        policy.batchReads = true;
+        policy.batchPolicy = batchPolicy;
+        return new ReadBatcher(client, EventLoopSelectors.clientDefault(), scheduler, policy);
+    }
+
+    private void respond(int... resultCodes) {
+        doAnswer(respond((invocation, records) -> {
+            batchPolicies.add(invocation.getArgument(2));
+            invocation.<BatchListListener>getArgument(1).onSuccess(records);
+        }, resultCodes)).when(client).get(any(), any(BatchListListener.class), any(), anyList());
+    }
+
+    private static Mono<KeyRecord> get(ReadBatcher batcher, Key key, String... binNames) {
+        return new RecordMono() {
+            @Override
+            protected void execute(RecordListener listener) {
+                batcher.get(key, binNames.length == 0 ? null : binNames, listener);
+            }
+        };
+    }
+
+    @Test
+    public void shouldSendReadsWithinWindowAsOneBatch(){
+        respond(ResultCode.OK, ResultCode.OK);
+        ReadBatcher batcher = batcher(10);
+
+        StepVerifier.create(Mono.zip(get(batcher, KEY1), get(batcher, KEY2, "bin")))
+                .then(() -> verify(client, never()).get(any(), any(BatchListListener.class), any(), anyList()))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNextMatches(tuple -> tuple.getT1().key == KEY1 && tuple.getT1().record == RECORD
+                        && tuple.getT2().key == KEY2 && tuple.getT2().record == RECORD)
+                .verifyComplete();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).get(0).readAllBins).isTrue();
+        assertThat(batches.get(0).get(1).binNames).containsExactly("bin");
+    }
+
+    @Test
+    public void shouldSendFullBatchWithoutWaiting(){
+        respond(ResultCode.OK, ResultCode.OK);
+        ReadBatcher batcher = batcher(2);
+
+        StepVerifier.create(Mono.zip(get(batcher, KEY1), get(batcher, KEY2)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    public void shouldCompleteNotFoundRecordEmpty(){
+        respond(ResultCode.OK, ResultCode.KEY_NOT_FOUND_ERROR);
+        ReadBatcher batcher = batcher(2);
+
+        StepVerifier.create(Mono.zip(get(batcher, KEY1), get(batcher, KEY2)))
+                .expectNextMatches(tuple -> tuple.getT1().record == RECORD
+                        && tuple.getT2().key == KEY2 && tuple.getT2().record == null)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldFailRecordWithErrorResultCode(){
+        respond(ResultCode.TIMEOUT);
+        ReadBatcher batcher = batcher(1);
+
+        StepVerifier.create(get(batcher, KEY3))
+                .verifyErrorMatches(throwable -> throwable instanceof AerospikeException
+                        && ((AerospikeException) throwable).getResultCode() == ResultCode.TIMEOUT);
+    }
+
+    @Test
+    public void shouldFailAllReadsIfBatchFails(){
+        doAnswer(invocation -> {
+            invocation.<BatchListListener>getArgument(1)
+                    .onFailure(new AerospikeException(ResultCode.SERVER_NOT_AVAILABLE));
+            return null;
+        }).when(client).get(any(), any(BatchListListener.class), any(), anyList());
+        ReadBatcher batcher = batcher(2);
+
+        StepVerifier.create(Flux.mergeDelayError(2, get(batcher, KEY1), get(batcher, KEY2)))
+                .verifyErrorMatches(throwable -> Exceptions.isMultiple(throwable)
+                        && Exceptions.unwrapMultiple(throwable).size() == 2);
+
+        verify(client, times(1)).get(any(), any(BatchListListener.class), any(), anyList());
+    }
+
+    @Test
+    public void shouldSendReadsWithClientReadPolicy(){
+        readPolicy.totalTimeout = 123;
+        readPolicy.replica = Replica.MASTER;
+        batchPolicyDefault.maxConcurrentThreads = 4;
+        respond(ResultCode.OK);
+        ReadBatcher batcher = batcher(1);
+
+        StepVerifier.create(get(batcher, KEY1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        BatchPolicy batchPolicy = batchPolicies.get(0);
+        assertThat(batchPolicy.totalTimeout).isEqualTo(123);
+        assertThat(batchPolicy.replica).isEqualTo(Replica.MASTER);
+        assertThat(batchPolicy.maxConcurrentThreads).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldSendReadsWithExplicitBatchPolicy(){
+        BatchPolicy explicit = new BatchPolicy();
+        respond(ResultCode.OK);
+        ReadBatcher batcher = batcher(1, explicit);
+
+        StepVerifier.create(get(batcher, KEY1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(batchPolicies).containsExactly(explicit);
+    }
+}
@@ -0,0 +1,121 @@
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.query.KeyRecord;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadCollapserTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+    private static final KeyRecord KEY_RECORD = new KeyRecord(KEY, new Record(Collections.singletonMap("bin", 1L), 1, 0));
+
+    private final ReadCollapser collapser = new ReadCollapser();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final Sinks.One<KeyRecord> result = Sinks.one();
+
+    private final Mono<KeyRecord> command = Mono.defer(() -> {
+        executions.incrementAndGet();
+        return result.asMono();
+    });
+
+    @Test
+    public void shouldShareInFlightCommand(){
+        StepVerifier first = StepVerifier.create(collapser.get(null, KEY, null, command))
+                .expectNext(KEY_RECORD)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(collapser.get(null, new Key("a", "b", "c"), null, command))
+                .expectNext(KEY_RECORD)
+                .expectComplete()
+                .verifyLater();
+
+        result.tryEmitValue(KEY_RECORD);
+
+        first.verify();
+        second.verify();
+        assertThat(executions).hasValue(1);
+        assertThat(collapser.inFlightSize()).isZero();
+    }
+
+    @Test
+    public void shouldExecuteNewCommandAfterCompletion(){
+        result.tryEmitValue(KEY_RECORD);
+
+        collapser.get(null, KEY, null, command).block();
+        collapser.get(null, KEY, null, command).block();
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    public void shouldNotShareDifferentReads(){
+        Policy policy = new Policy();
+
+        collapser.get(null, KEY, null, command).subscribe();
+        collapser.get(null, KEY, new String[]{"bin"}, command).subscribe();
+        collapser.get(policy, KEY, null, command).subscribe();
+        collapser.getHeader(null, KEY, command).subscribe();
+        collapser.get(null, new Key("a", "b", "d"), null, command).subscribe();
+
+        assertThat(executions).hasValue(5);
+        assertThat(collapser.inFlightSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldShareFailure(){
+        StepVerifier first = StepVerifier.create(collapser.getHeader(null, KEY, command))
+                .expectError(AerospikeException.class)
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(collapser.getHeader(null, KEY, command))
+                .expectError(AerospikeException.class)
+                .verifyLater();
+
+        result.tryEmitError(new AerospikeException(ResultCode.TIMEOUT));
+
+        first.verify();
+        second.verify();
+        assertThat(executions).hasValue(1);
+        assertThat(collapser.inFlightSize()).isZero();
+    }
+
+    @Test
+    public void shouldLeaveMapWhenOnlySubscriberCancels(){
+        Disposable subscription = collapser.get(null, KEY, null, command).subscribe();
+        assertThat(collapser.inFlightSize()).isEqualTo(1);
+
+        subscription.dispose();
+
+        assertThat(collapser.inFlightSize()).isZero();
+    }
+
+    @Test
+    public void shouldKeepSharedCommandWhileSubscribersRemain(){
+        Disposable first = collapser.get(null, KEY, null, command).subscribe();
+        StepVerifier second = StepVerifier.create(collapser.get(null, KEY, null, command))
+                .expectNext(KEY_RECORD)
+                .expectComplete()
+                .verifyLater();
+
+        first.dispose();
+        assertThat(collapser.inFlightSize()).isEqualTo(1);
+
+        result.tryEmitValue(KEY_RECORD);
+
+        second.verify();
+        assertThat(executions).hasValue(1);
+        assertThat(collapser.inFlightSize()).isZero();
+    }
+}
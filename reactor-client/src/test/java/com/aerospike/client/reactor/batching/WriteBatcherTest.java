@@ -0,0 +1,157 @@
+package com.aerospike.client.reactor.batching;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchDelete;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.BatchOperateListListener;
+import com.aerospike.client.listener.DeleteListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.RecordExistsAction;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.reactor.eventloop.EventLoopSelectors;
+import com.aerospike.client.reactor.publishers.DeleteMono;
+import com.aerospike.client.reactor.publishers.RecordMono;
+import com.aerospike.client.reactor.publishers.WriteMono;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class WriteBatcherTest extends BatcherTest<BatchRecord> {
+
+    private static final Key KEY1 = new Key("a", "b", 1);
+    private static final Key KEY2 = new Key("a", "b", 2);
+    private static final Key KEY3 = new Key("a", "b", 3);
+    private static final Bin BIN = new Bin("bin", 1);
+
+    private final WritePolicy writePolicy = new WritePolicy();
+
+    private WriteBatcher batcher(int maxBatchSize) {
+        when(client.getWritePolicyDefault()).thenReturn(writePolicy);
+        AutoBatchPolicy policy = policy(maxBatchSize);
+        policy.batchWrites = true;
+        return new WriteBatcher(client, EventLoopSelectors.clientDefault(), scheduler, policy);
+    }
+
+    private void respond(int... resultCodes) {
+        doAnswer(respond((invocation, records) -> invocation.<BatchOperateListListener>getArgument(1).onSuccess(records, true),
+                resultCodes)).when(client).operate(any(), any(BatchOperateListListener.class), any(), anyList());
+    }
+
+    private static Mono<Key> put(WriteBatcher batcher, Key key) {
+        return new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                batcher.put(key, new Bin[]{BIN}, listener);
+            }
+        };
+    }
+
+    private static Mono<Key> delete(WriteBatcher batcher, Key key) {
+        return new DeleteMono() {
+            @Override
+            protected void execute(DeleteListener listener) {
+                batcher.delete(key, listener);
+            }
+        };
+    }
+
+    @Test
+    public void shouldSendWritesWithinWindowAsOneBatch(){
+        respond(ResultCode.OK, ResultCode.OK, ResultCode.OK);
+        WriteBatcher batcher = batcher(10);
+
+        Mono<Object> operate = new RecordMono() {
+            @Override
+            protected void execute(RecordListener listener) {
+                batcher.operate(KEY3, new Operation[]{Operation.add(BIN), Operation.get("bin")}, listener);
+            }
+        }.map(keyRecord -> keyRecord.record);
+
+        StepVerifier.create(Mono.zip(put(batcher, KEY1), delete(batcher, KEY2), operate))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNextMatches(tuple -> tuple.getT1() == KEY1 && tuple.getT2() == KEY2 && tuple.getT3() == RECORD)
+                .verifyComplete();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).get(0)).isInstanceOf(BatchWrite.class);
+        assertThat(batches.get(0).get(1)).isInstanceOf(BatchDelete.class);
+        assertThat(batches.get(0).get(2)).isInstanceOf(BatchWrite.class);
+    }
+
+    @Test
+    public void shouldCompleteEmptyIfDeletedRecordNotFound(){
+        respond(ResultCode.KEY_NOT_FOUND_ERROR);
+        WriteBatcher batcher = batcher(1);
+
+        StepVerifier.create(delete(batcher, KEY1))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldFailWriteWithErrorResultCode(){
+        respond(ResultCode.OK, ResultCode.GENERATION_ERROR);
+        WriteBatcher batcher = batcher(2);
+
+        StepVerifier.create(put(batcher, KEY1).zipWith(put(batcher, KEY2)))
+                .verifyErrorMatches(throwable -> throwable instanceof AerospikeException
+                        && ((AerospikeException) throwable).getResultCode() == ResultCode.GENERATION_ERROR);
+    }
+
+    @Test
+    public void shouldFailAllWritesIfBatchFails(){
+        doAnswer(invocation -> {
+            invocation.<BatchOperateListListener>getArgument(1)
+                    .onFailure(new AerospikeException(ResultCode.SERVER_NOT_AVAILABLE));
+            return null;
+        }).when(client).operate(any(), any(BatchOperateListListener.class), any(), anyList());
+        WriteBatcher batcher = batcher(1);
+
+        StepVerifier.create(put(batcher, KEY1))
+                .verifyError(AerospikeException.class);
+        StepVerifier.create(delete(batcher, KEY2))
+                .verifyError(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldSendWritesWithClientWritePolicy(){
+        writePolicy.sendKey = true;
+        writePolicy.expiration = 60;
+        writePolicy.durableDelete = true;
+        writePolicy.recordExistsAction = RecordExistsAction.REPLACE;
+        respond(ResultCode.OK, ResultCode.OK);
+        WriteBatcher batcher = batcher(2);
+
+        StepVerifier.create(put(batcher, KEY1).zipWith(delete(batcher, KEY2)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        BatchWrite write = (BatchWrite) batches.get(0).get(0);
+        assertThat(write.policy.sendKey).isTrue();
+        assertThat(write.policy.expiration).isEqualTo(60);
+        assertThat(write.policy.durableDelete).isTrue();
+        assertThat(write.policy.recordExistsAction).isEqualTo(RecordExistsAction.REPLACE);
+        BatchDelete delete = (BatchDelete) batches.get(0).get(1);
+        assertThat(delete.policy.sendKey).isTrue();
+        assertThat(delete.policy.durableDelete).isTrue();
+    }
+
+    @Test
+    public void shouldOnlyBatchOperateWithWrite(){
+        assertThat(WriteBatcher.hasWrite(new Operation[]{Operation.get("bin")})).isFalse();
+        assertThat(WriteBatcher.hasWrite(new Operation[]{Operation.get("bin"), Operation.add(BIN)})).isTrue();
+    }
+}
@@ -0,0 +1,522 @@
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.BatchRead;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NearCacheReactorClientTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+    private static final Key KEY2 = new Key("a", "b", "d");
+    private static final Bin BIN = new Bin("bin", 1);
+
+    private final IAerospikeReactorClient delegate = mock(IAerospikeReactorClient.class);
+
+    private static KeyRecord keyRecord(Key key, int generation) {
+        return new KeyRecord(key, new Record(Collections.singletonMap("bin", 1L), generation, 0));
+    }
+
+    private NearCacheReactorClient client(int maxEntries) {
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.maxEntries = maxEntries;
+        return new NearCacheReactorClient(delegate, policy);
+    }
+
+    @Test
+    public void shouldServeRepeatedReadFromCache(){
+        KeyRecord keyRecord = keyRecord(KEY, 1);
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord));
+        NearCacheReactorClient client = client(10);
+
+        assertThat(client.get(KEY).block()).isSameAs(keyRecord);
+        assertThat(client.get(KEY).block()).isSameAs(keyRecord);
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+    }
+
+    @Test
+    public void shouldCacheProjectionsSeparately(){
+        String[] binNames = {"bin"};
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.getHeader(any(), eq(KEY))).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        client.get(null, KEY, binNames).block();
+        client.get(null, KEY, new String[]{"bin"}).block();
+        client.getHeader(KEY).block();
+        client.getHeader(KEY).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+        verify(delegate, times(1)).get(isNull(), eq(KEY), eq(binNames));
+        verify(delegate, times(1)).getHeader(isNull(), eq(KEY));
+    }
+
+    @Test
+    public void shouldKeepCachedProjectionWhenCallerReusesBinNames(){
+        String[] binNames = {"bin"};
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        NearCacheReactorClient client = client(10);
+
+        client.get(null, KEY, binNames).block();
+        binNames[0] = "other";
+        client.get(null, KEY, new String[]{"bin"}).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), any(String[].class));
+    }
+
+    @Test
+    public void shouldInvalidateOnWrite(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.put(any(), eq(KEY), any(Bin[].class))).thenReturn(Mono.just(KEY));
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        client.put(KEY, BIN).block();
+        client.get(KEY).block();
+
+        verify(delegate, times(2)).get(isNull(), eq(KEY), isNull());
+    }
+
+    @Test
+    public void shouldNotCacheReadRacingWithWrite(){
+        Sinks.One<KeyRecord> pendingRead = Sinks.one();
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(pendingRead.asMono(), Mono.just(keyRecord(KEY, 2)));
+        when(delegate.delete(any(), eq(KEY))).thenReturn(Mono.just(KEY));
+        NearCacheReactorClient client = client(10);
+
+        Mono<KeyRecord> read = client.get(KEY).cache();
+        read.subscribe();
+        client.delete(null, KEY).block();
+        pendingRead.tryEmitValue(keyRecord(KEY, 1));
+
+        assertThat(read.block().record.generation).isEqualTo(1);
+        assertThat(client.get(KEY).block().record.generation).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDropProjectionsOfOlderGeneration(){
+        String[] binNames = {"bin"};
+        when(delegate.get(any(), eq(KEY), isNull())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY), eq(binNames))).thenReturn(Mono.just(keyRecord(KEY, 2)));
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        client.get(null, KEY, binNames).block();
+        client.get(KEY).block();
+
+        verify(delegate, times(2)).get(isNull(), eq(KEY), isNull());
+    }
+
+    @Test
+    public void shouldAdmitOnlyMoreFrequentRecordsWhenFull(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY2), any())).thenReturn(Mono.just(keyRecord(KEY2, 1)));
+        NearCacheReactorClient client = client(1);
+
+        client.get(KEY).block();
+        client.get(KEY).block();
+        client.get(KEY2).block();
+        client.get(KEY).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+
+        verify(delegate, times(4)).get(isNull(), eq(KEY2), isNull());
+    }
+
+    @Test
+    public void shouldReplaceExpiredRecordWhenFull() throws InterruptedException {
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY2), any())).thenReturn(Mono.just(keyRecord(KEY2, 1)));
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.maxEntries = 1;
+        policy.maxTtlMillis = 100;
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.get(KEY).block();
+        client.get(KEY).block();
+        client.get(KEY).block();
+        Thread.sleep(150);
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY2), isNull());
+    }
+
+    @Test
+    public void shouldBypassCacheForFilteredRead(){
+        Policy policy = new Policy();
+        policy.filterExp = Exp.build(Exp.eq(Exp.intBin("bin"), Exp.val(1)));
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        NearCacheReactorClient client = client(10);
+
+        client.get(policy, KEY).block();
+        client.get(policy, KEY).block();
+
+        verify(delegate, times(2)).get(eq(policy), eq(KEY), isNull());
+        verify(delegate, never()).get(isNull(), eq(KEY), isNull());
+    }
+
+    private NearCacheReactorClient negativeClient() {
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.negativeTtlMillis = 60000;
+        return new NearCacheReactorClient(delegate, policy);
+    }
+
+    @Test
+    public void shouldRememberMissingRecord(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(new KeyRecord(KEY, null)));
+        when(delegate.exists(any(), eq(KEY))).thenReturn(Mono.empty());
+        NearCacheReactorClient client = negativeClient();
+
+        assertThat(client.get(KEY).block().record).isNull();
+        assertThat(client.get(KEY).block().record).isNull();
+        assertThat(client.getHeader(KEY).block().record).isNull();
+        assertThat(client.exists(KEY).block()).isNull();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+        verify(delegate, never()).getHeader(any(), any());
+        verify(delegate, never()).exists(any(), any(Key.class));
+    }
+
+    @Test
+    public void shouldRememberMissingRecordOfExists(){
+        when(delegate.exists(any(), eq(KEY))).thenReturn(Mono.empty());
+        when(delegate.exists(any(), eq(KEY2))).thenReturn(Mono.just(KEY2));
+        NearCacheReactorClient client = negativeClient();
+
+        assertThat(client.exists(KEY).block()).isNull();
+        assertThat(client.exists(KEY).block()).isNull();
+        assertThat(client.exists(KEY2).block()).isEqualTo(KEY2);
+        assertThat(client.exists(KEY2).block()).isEqualTo(KEY2);
+
+        verify(delegate, times(1)).exists(isNull(), eq(KEY));
+        verify(delegate, times(2)).exists(isNull(), eq(KEY2));
+    }
+
+    @Test
+    public void shouldForgetMissingRecordOnWrite(){
+        when(delegate.exists(any(), eq(KEY))).thenReturn(Mono.empty(), Mono.just(KEY));
+        when(delegate.put(any(), eq(KEY), any(Bin[].class))).thenReturn(Mono.just(KEY));
+        NearCacheReactorClient client = negativeClient();
+
+        assertThat(client.exists(KEY).block()).isNull();
+        client.put(KEY, BIN).block();
+        assertThat(client.exists(KEY).block()).isEqualTo(KEY);
+    }
+
+    @Test
+    public void shouldNotRememberMissingRecordWhenDisabled(){
+        when(delegate.exists(any(), eq(KEY))).thenReturn(Mono.empty());
+        NearCacheReactorClient client = client(10);
+
+        client.exists(KEY).block();
+        client.exists(KEY).block();
+
+        verify(delegate, times(2)).exists(isNull(), eq(KEY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldServeRecordFromOffHeapStorage(){
+        Map<String, Object> bins = new HashMap<>();
+        bins.put("long", 1L);
+        bins.put("string", "value");
+        bins.put("list", Arrays.asList(1L, "a", 2.5));
+        bins.put("map", new TreeMap<>(Collections.singletonMap("k", true)));
+        bins.put("bytes", new byte[]{1, 2});
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(new KeyRecord(KEY, new Record(bins, 3, 0))));
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.offHeapBytes = 1024;
+        policy.offHeapSlabBytes = 256;
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.get(KEY).block();
+        Record record = client.get(KEY).block().record;
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+        assertThat(record.generation).isEqualTo(3);
+        assertThat(record.expiration).isEqualTo(0);
+        assertThat(record.bins).containsOnlyKeys("long", "string", "list", "map", "bytes");
+        assertThat(record.getLong("long")).isEqualTo(1L);
+        assertThat(record.getString("string")).isEqualTo("value");
+        assertThat((List<Object>)record.getList("list")).containsExactly(1L, "a", 2.5);
+        assertThat((Map<Object, Object>)record.getMap("map")).isInstanceOf(TreeMap.class).containsEntry("k", true);
+        assertThat((byte[])record.getValue("bytes")).containsExactly((byte)1, (byte)2);
+    }
+
+    @Test
+    public void shouldReadAgainWhenOffHeapStorageWrapped(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY2), any())).thenReturn(Mono.just(keyRecord(KEY2, 1)));
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.offHeapBytes = 32;
+        policy.offHeapSlabBytes = 32;
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.get(KEY).block();
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+        client.get(KEY).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY2), isNull());
+        verify(delegate, times(2)).get(isNull(), eq(KEY), isNull());
+        assertThat(client.get(KEY).block().record.getLong("bin")).isEqualTo(1L);
+    }
+
+    @Test
+    public void shouldReplaceRecordDroppedFromOffHeapStorageWhenFull(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY2), any())).thenReturn(Mono.just(keyRecord(KEY2, 1)));
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.maxEntries = 1;
+        policy.offHeapBytes = 32;
+        policy.offHeapSlabBytes = 32;
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.get(KEY).block();
+        client.get(KEY).block();
+        client.get(KEY).block();
+        client.get(KEY2).block();
+        client.get(KEY2).block();
+
+        verify(delegate, times(1)).get(isNull(), eq(KEY2), isNull());
+    }
+
+    @Test
+    public void shouldSendOnlyMissedKeysOfBatch(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), any(Key[].class))).thenAnswer(invocation -> {
+            Key[] keys = invocation.getArgument(1);
+            Record[] records = new Record[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                records[i] = keyRecord(keys[i], 1).record;
+            }
+            return Mono.just(new KeysRecords(keys, records));
+        });
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        KeysRecords first = client.get(new Key[]{KEY, KEY2}).block();
+        KeysRecords second = client.get(new Key[]{KEY2, KEY}).block();
+
+        assertThat(first.records).doesNotContainNull();
+        assertThat(second.records).doesNotContainNull();
+        verify(delegate, times(1)).get(isNull(), eq(new Key[]{KEY2}));
+        verify(delegate, times(1)).get(isNull(), any(Key[].class));
+    }
+
+    private List<List<BatchRead>> stubBatchRead(int generation) {
+        List<List<BatchRead>> batches = new ArrayList<>();
+        when(delegate.get(any(), anyList())).thenAnswer(invocation -> {
+            List<BatchRead> reads = invocation.getArgument(1);
+            batches.add(reads);
+            for (BatchRead read : reads) {
+                read.setRecord(keyRecord(read.key, generation).record);
+                read.resultCode = ResultCode.OK;
+            }
+            return Mono.just(reads);
+        });
+        return batches;
+    }
+
+    @Test
+    public void shouldRevalidateUnchangedRecordWithHeaderOnly(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.getHeaders(any(), any(Key[].class))).thenReturn(
+                Mono.just(new KeysRecords(new Key[]{KEY}, new Record[]{new Record(null, 1, 0)})));
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        client.revalidate(null, KEY).block();
+
+        assertThat(client.get(KEY).block().record.generation).isEqualTo(1);
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+        verify(delegate, never()).get(any(), any(Key[].class));
+    }
+
+    @Test
+    public void shouldRefetchChangedRecordOnRevalidate(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.get(any(), eq(KEY2), any())).thenReturn(Mono.just(keyRecord(KEY2, 1)));
+        when(delegate.getHeaders(any(), any(Key[].class))).thenReturn(
+                Mono.just(new KeysRecords(new Key[]{KEY, KEY2}, new Record[]{new Record(null, 2, 0), null})));
+        List<List<BatchRead>> batches = stubBatchRead(2);
+        NearCacheReactorClient client = client(10);
+
+        client.get(KEY).block();
+        client.get(KEY2).block();
+        client.revalidate(null, KEY, KEY2).block();
+
+        assertThat(client.get(KEY).block().record.generation).isEqualTo(2);
+        client.get(KEY2).block();
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(1);
+        assertThat(batches.get(0).get(0).readAllBins).isTrue();
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+        verify(delegate, times(2)).get(isNull(), eq(KEY2), isNull());
+    }
+
+    @Test
+    public void shouldRefetchOnlyCachedProjectionsOnRevalidate(){
+        String[] binNames = {"bin"};
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.getHeader(any(), eq(KEY))).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.getHeaders(any(), any(Key[].class))).thenReturn(
+                Mono.just(new KeysRecords(new Key[]{KEY}, new Record[]{new Record(null, 2, 0)})));
+        List<List<BatchRead>> batches = stubBatchRead(2);
+        NearCacheReactorClient client = client(10);
+
+        client.get(null, KEY, binNames).block();
+        client.getHeader(null, KEY).block();
+        client.revalidate(null, KEY).block();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(read -> read.binNames == null ? "header" : read.binNames[0])
+                .containsExactlyInAnyOrder("bin", "header");
+        assertThat(batches.get(0)).noneMatch(read -> read.readAllBins);
+        assertThat(client.get(null, KEY, binNames).block().record.generation).isEqualTo(2);
+        assertThat(client.getHeader(null, KEY).block().record.generation).isEqualTo(2);
+        verify(delegate, times(1)).get(isNull(), eq(KEY), eq(binNames));
+        verify(delegate, times(1)).getHeader(isNull(), eq(KEY));
+    }
+
+    @Test
+    public void shouldRefreshAheadInBackground(){
+        when(delegate.get(any(), eq(KEY), any())).thenReturn(Mono.just(keyRecord(KEY, 1)));
+        when(delegate.getHeaders(any(), any(Key[].class))).thenReturn(
+                Mono.just(new KeysRecords(new Key[]{KEY}, new Record[]{new Record(null, 1, 0)})));
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.refreshAheadMillis = policy.maxTtlMillis;
+        policy.refreshBatchMillis = 0;
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.get(KEY).block();
+        client.get(KEY).block();
+
+        verify(delegate, timeout(1000).times(1)).getHeaders(isNull(), eq(new Key[]{KEY}));
+        verify(delegate, times(1)).get(isNull(), eq(KEY), isNull());
+    }
+
+    private NearCacheReactorClient infoClient(IAerospikeClient aerospikeClient) {
+        when(delegate.getAerospikeClient()).thenReturn(aerospikeClient);
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.infoTtlMillis = Collections.singletonMap("namespace", 60000);
+        return new NearCacheReactorClient(delegate, policy);
+    }
+
+    @Test
+    public void shouldCoalesceAndCacheInfoResponses(){
+        Node node = mock(Node.class);
+        IAerospikeClient aerospikeClient = mock(IAerospikeClient.class);
+        when(aerospikeClient.getNodes()).thenReturn(new Node[]{node});
+        Sinks.One<Map<String, String>> pending = Sinks.one();
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("namespace/test")))).thenReturn(pending.asMono());
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("build")))).thenReturn(
+                Mono.just(Collections.singletonMap("build", "8.0")));
+        NearCacheReactorClient client = infoClient(aerospikeClient);
+
+        Mono<String> first = client.info(null, node, "namespace/test").cache();
+        first.subscribe();
+        Mono<String> second = client.info(null, node, "namespace/test").cache();
+        second.subscribe();
+        pending.tryEmitValue(Collections.singletonMap("namespace/test", "objects=1"));
+
+        assertThat(first.block()).isEqualTo("objects=1");
+        assertThat(second.block()).isEqualTo("objects=1");
+        assertThat(client.info(null, node, Arrays.asList("namespace/test", "build")).block())
+                .containsEntry("namespace/test", "objects=1")
+                .containsEntry("build", "8.0");
+        verify(delegate, times(1)).info(any(), eq(node), eq(Collections.singletonList("namespace/test")));
+    }
+
+    @Test
+    public void shouldDropInfoResponsesWhenNodesChange(){
+        Node node = mock(Node.class);
+        IAerospikeClient aerospikeClient = mock(IAerospikeClient.class);
+        when(aerospikeClient.getNodes()).thenReturn(new Node[]{node}, new Node[]{node}, new Node[]{node, mock(Node.class)});
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("namespace/test")))).thenReturn(
+                Mono.just(Collections.singletonMap("namespace/test", "objects=1")));
+        NearCacheReactorClient client = infoClient(aerospikeClient);
+
+        client.info(null, node, "namespace/test").block();
+        client.info(null, node, "namespace/test").block();
+        client.info(null, node, "namespace/test").block();
+
+        verify(delegate, times(2)).info(any(), eq(node), eq(Collections.singletonList("namespace/test")));
+    }
+
+    @Test
+    public void shouldReturnEmptyCachedInfoResponsesLikeUncached(){
+        Node node = mock(Node.class);
+        IAerospikeClient aerospikeClient = mock(IAerospikeClient.class);
+        when(aerospikeClient.getNodes()).thenReturn(new Node[]{node});
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("namespace/test")))).thenReturn(
+                Mono.just(Collections.singletonMap("namespace/test", "")));
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("build")))).thenReturn(
+                Mono.just(Collections.singletonMap("build", "")));
+        NearCacheReactorClient client = infoClient(aerospikeClient);
+
+        assertThat(client.info(null, node, Arrays.asList("namespace/test", "build")).block())
+                .containsEntry("namespace/test", "")
+                .containsEntry("build", "");
+    }
+
+    @Test
+    public void shouldRemoveInfoResponsesAfterTheirTtl() throws InterruptedException {
+        Node node = mock(Node.class);
+        IAerospikeClient aerospikeClient = mock(IAerospikeClient.class);
+        when(aerospikeClient.getNodes()).thenReturn(new Node[]{node});
+        when(delegate.info(any(), eq(node), eq(Collections.singletonList("namespace/test")))).thenReturn(
+                Mono.just(Collections.singletonMap("namespace/test", "objects=1")));
+        when(delegate.getAerospikeClient()).thenReturn(aerospikeClient);
+        NearCachePolicy policy = new NearCachePolicy();
+        policy.infoTtlMillis = Collections.singletonMap("namespace", 50);
+        NearCacheReactorClient client = new NearCacheReactorClient(delegate, policy);
+
+        client.info(null, node, "namespace/test").block();
+        client.info(null, node, "namespace/test").block();
+        verify(delegate, times(1)).info(any(), eq(node), eq(Collections.singletonList("namespace/test")));
+
+        Thread.sleep(500);
+        client.info(null, node, "namespace/test").block();
+        verify(delegate, times(2)).info(any(), eq(node), eq(Collections.singletonList("namespace/test")));
+    }
+}
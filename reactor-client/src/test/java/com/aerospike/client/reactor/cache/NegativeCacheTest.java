@@ -0,0 +1,69 @@
+package com.aerospike.client.reactor.cache;
+
+import com.aerospike.client.Key;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NegativeCacheTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+    private static final Key KEY2 = new Key("a", "b", "d");
+    private static final int TTL_MILLIS = 1000;
+
+    private long nanos = 123456789L;
+    private final NegativeCache cache = new NegativeCache(100, TTL_MILLIS, () -> nanos);
+
+    private void advance(long millis) {
+        nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void shouldExpireAfterTtl(){
+        cache.add(KEY);
+        advance(TTL_MILLIS - 1);
+        assertThat(cache.contains(KEY)).isTrue();
+
+        advance(1);
+        assertThat(cache.contains(KEY)).isFalse();
+    }
+
+    @Test
+    public void shouldStayExpiredPastClockWrap(){
+        cache.add(KEY);
+
+        // Past the range of the former 24-bit expiry and past the 32-bit millisecond offset.
+        for (long millis : new long[]{1L << 24, 1L << 31, 1L << 32, 1L << 33}) {
+            advance(millis);
+            assertThat(cache.contains(KEY)).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldKeepWorkingAfterOffsetOverflow(){
+        cache.add(KEY);
+        advance((1L << 32) - TTL_MILLIS / 2);
+        cache.add(KEY2);
+
+        assertThat(cache.contains(KEY)).isFalse();
+        assertThat(cache.contains(KEY2)).isTrue();
+
+        advance(TTL_MILLIS);
+        assertThat(cache.contains(KEY2)).isFalse();
+
+        cache.add(KEY);
+        assertThat(cache.contains(KEY)).isTrue();
+    }
+
+    @Test
+    public void shouldForgetRemovedKey(){
+        cache.add(KEY);
+        cache.add(KEY2);
+        cache.remove(KEY);
+
+        assertThat(cache.contains(KEY)).isFalse();
+        assertThat(cache.contains(KEY2)).isTrue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.aerospike.client.reactor.eventloop;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.cluster.Partition;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventLoopSelectorTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+
+    private final EventLoop loop0 = mock(EventLoop.class);
+    private final EventLoop loop1 = mock(EventLoop.class);
+    private final EventLoop loop2 = mock(EventLoop.class);
+    private final EventLoop[] loops = {loop0, loop1, loop2};
+    private final EventLoops eventLoops = mock(EventLoops.class);
+
+    {
+        when(eventLoops.getArray()).thenReturn(loops);
+        when(eventLoops.getSize()).thenReturn(loops.length);
+        when(eventLoops.next()).thenReturn(loop0, loop1, loop2);
+    }
+
+    @Test
+    public void shouldLeaveSelectionToClientByDefault(){
+        assertThat(EventLoopSelectors.clientDefault().select(KEY)).isNull();
+    }
+
+    @Test
+    public void shouldSelectRoundRobin(){
+        EventLoopSelector selector = EventLoopSelectors.roundRobin(eventLoops);
+
+        assertThat(selector.select(KEY)).isSameAs(loop0);
+        assertThat(selector.select(KEY)).isSameAs(loop1);
+        assertThat(selector.select(null)).isSameAs(loop2);
+    }
+
+    @Test
+    public void shouldSelectSameLoopForSamePartition(){
+        EventLoopSelector selector = EventLoopSelectors.partitionAffine(eventLoops);
+        EventLoop expected = loops[Partition.getPartitionId(KEY.digest) % loops.length];
+
+        assertThat(selector.select(KEY)).isSameAs(expected);
+        assertThat(selector.select(new Key("a", "b", "c"))).isSameAs(expected);
+    }
+
+    @Test
+    public void shouldFallBackToRoundRobinWithoutKey(){
+        EventLoopSelector selector = EventLoopSelectors.partitionAffine(eventLoops);
+
+        assertThat(selector.select(null)).isSameAs(loop0);
+        assertThat(selector.select(null)).isSameAs(loop1);
+    }
+
+    @Test
+    public void shouldSelectLeastLoaded(){
+        when(loop0.getProcessSize()).thenReturn(5);
+        when(loop1.getProcessSize()).thenReturn(1);
+        when(loop2.getProcessSize()).thenReturn(3);
+
+        EventLoopSelector selector = EventLoopSelectors.leastLoaded(eventLoops);
+
+        for (int i = 0; i < loops.length; i++) {
+            assertThat(selector.select(KEY)).isSameAs(loop1);
+        }
+    }
+
+    @Test
+    public void shouldSelectCallerLoopWhenSubscribedOnEventLoop(){
+        when(loop2.inEventLoop()).thenReturn(true);
+
+        EventLoopSelector selector = EventLoopSelectors.callerAffine(eventLoops, EventLoopSelectors.clientDefault());
+
+        assertThat(selector.select(KEY)).isSameAs(loop2);
+        assertThat(selector.select(null)).isSameAs(loop2);
+    }
+
+    @Test
+    public void shouldDelegateToFallbackOutsideEventLoop() throws InterruptedException {
+        when(loop2.inEventLoop()).thenAnswer(invocation -> Thread.currentThread().getName().equals("loop2"));
+
+        EventLoopSelector selector = EventLoopSelectors.callerAffine(eventLoops, EventLoopSelectors.roundRobin(eventLoops));
+
+        AtomicReference<EventLoop> selectedOnLoop = new AtomicReference<>();
+        Thread loopThread = new Thread(() -> selectedOnLoop.set(selector.select(KEY)), "loop2");
+        loopThread.start();
+        loopThread.join();
+
+        assertThat(selectedOnLoop.get()).isSameAs(loop2);
+        assertThat(selector.select(KEY)).isSameAs(loop0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.aerospike.client.reactor.hotkey;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HotKeyReactorClientTest {
+
+    private static final Key HOT = new Key("a", "b", "hot");
+    private static final Key COLD = new Key("a", "b", "cold");
+    private static final Bin BIN = new Bin("bin", 1);
+
+    private final IAerospikeReactorClient delegate = mock(IAerospikeReactorClient.class);
+
+    private HotKeyReactorClient client() {
+        HotKeyPolicy policy = new HotKeyPolicy();
+        policy.reportIntervalMillis = 50;
+        policy.minCount = 3;
+        return new HotKeyReactorClient(delegate, policy);
+    }
+
+    @Test
+    public void shouldReportHotKeysPerOperation(){
+        when(delegate.get(any(), any(Key.class))).thenReturn(Mono.just(new KeyRecord(HOT, null)));
+        when(delegate.get(any(), any(Key[].class))).thenReturn(Mono.just(new KeysRecords(new Key[0], null)));
+        when(delegate.put(any(), any(Key.class), any(Bin[].class))).thenReturn(Mono.just(HOT));
+        HotKeyReactorClient client = client();
+
+        client.get(HOT).block();
+        client.get(HOT).block();
+        client.get(new Key[]{HOT, COLD}).block();
+        client.get(COLD).block();
+        client.put(HOT, BIN).block();
+
+        HotKeyReport report = client.hotKeys().blockFirst(Duration.ofSeconds(5));
+
+        assertThat(report.hotKeys).hasSize(1);
+        HotKeyReport.HotKey hotKey = report.hotKeys.get(0);
+        assertThat(hotKey.key).isEqualTo(HOT);
+        assertThat(hotKey.operation).isEqualTo(HotKeyOperation.READ);
+        assertThat(hotKey.count).isEqualTo(3);
+        assertThat(hotKey.total).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldStartOverAfterReport(){
+        when(delegate.get(any(), any(Key.class))).thenReturn(Mono.just(new KeyRecord(HOT, null)));
+        HotKeyReactorClient client = client();
+
+        for (int i = 0; i < 5; i++) {
+            client.get(HOT).block();
+        }
+
+        assertThat(client.hotKeys().take(2).collectList().block(Duration.ofSeconds(5)))
+                .extracting(report -> report.hotKeys.size())
+                .containsExactly(1, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCountStreamedKeysAndLeaveBatchingToDelegate(){
+        when(delegate.getFlux(any(), any(Publisher.class), anyInt(), any(), anyInt())).thenAnswer(invocation ->
+                Flux.from((Publisher<Key>)invocation.getArgument(1)).map(key -> new KeyRecord(key, null)));
+        HotKeyReactorClient client = client();
+
+        client.getFlux(Flux.just(HOT, HOT, COLD, HOT), 10, Duration.ofMillis(10), 1).blockLast();
+
+        HotKeyReport report = client.hotKeys().blockFirst(Duration.ofSeconds(5));
+
+        assertThat(report.hotKeys).hasSize(1);
+        assertThat(report.hotKeys.get(0).key).isEqualTo(HOT);
+        assertThat(report.hotKeys.get(0).count).isEqualTo(3);
+        verify(delegate).getFlux(isNull(), any(Publisher.class), eq(10), eq(Duration.ofMillis(10)), eq(1));
+    }
+}
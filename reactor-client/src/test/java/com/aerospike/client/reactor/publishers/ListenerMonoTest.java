@@ -0,0 +1,195 @@
+package com.aerospike.client.reactor.publishers;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.DeleteListener;
+import com.aerospike.client.listener.ExistsListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.query.KeyRecord;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListenerMonoTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+    private static final Record RECORD = new Record(Collections.singletonMap("bin", 1L), 1, 0);
+
+    @Test
+    public void shouldEmitRecord(){
+        Mono<KeyRecord> mono = new RecordMono() {
+            @Override
+            protected void execute(RecordListener listener) {
+                listener.onSuccess(KEY, RECORD);
+            }
+        };
+
+        StepVerifier.create(mono)
+                .expectNextMatches(keyRecord -> keyRecord.key == KEY && keyRecord.record == RECORD)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldEmitKeyOnWrite(){
+        Mono<Key> mono = new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                listener.onSuccess(KEY);
+            }
+        };
+
+        StepVerifier.create(mono)
+                .expectNext(KEY)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCompleteEmptyIfNotExists(){
+        Mono<Key> mono = new ExistsMono() {
+            @Override
+            protected void execute(ExistsListener listener) {
+                listener.onSuccess(KEY, false);
+            }
+        };
+
+        StepVerifier.create(mono)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCompleteEmptyIfNotDeleted(){
+        Mono<Key> mono = new DeleteMono() {
+            @Override
+            protected void execute(DeleteListener listener) {
+                listener.onSuccess(KEY, false);
+            }
+        };
+
+        StepVerifier.create(mono)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldPropagateListenerFailure(){
+        Mono<Key> mono = new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                listener.onFailure(new AerospikeException(ResultCode.TIMEOUT));
+            }
+        };
+
+        StepVerifier.create(mono)
+                .verifyError(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldPropagateRegistrationFailure(){
+        Mono<Key> mono = new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                throw new AerospikeException(ResultCode.NO_MORE_CONNECTIONS);
+            }
+        };
+
+        StepVerifier.create(mono)
+                .verifyError(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldExecuteCommandPerSubscription(){
+        AtomicInteger executions = new AtomicInteger();
+        Mono<Key> mono = new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                executions.incrementAndGet();
+                listener.onSuccess(KEY);
+            }
+        };
+
+        mono.block();
+        mono.block();
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    public void shouldNotEmitAfterCancel(){
+        AtomicReference<WriteListener> listenerRef = new AtomicReference<>();
+        Mono<Key> mono = new WriteMono() {
+            @Override
+            protected void execute(WriteListener listener) {
+                listenerRef.set(listener);
+            }
+        };
+
+        List<Signal<Key>> signals = new ArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        mono.subscribe(new CoreSubscriber<Key>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Key key) {
+                signals.add(Signal.next(key));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                signals.add(Signal.error(t));
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add(Signal.complete());
+            }
+        });
+
+        subscription.get().cancel();
+        listenerRef.get().onSuccess(KEY);
+
+        assertThat(signals).isEmpty();
+    }
+
+    @Test
+    public void shouldApplyAssemblyHooks(){
+        AtomicInteger assembled = new AtomicInteger();
+        Hooks.onEachOperator("listenerMonoTest", publisher -> {
+            assembled.incrementAndGet();
+            return publisher;
+        });
+        try {
+            Mono<Key> mono = ListenerMono.assemble(new WriteMono() {
+                @Override
+                protected void execute(WriteListener listener) {
+                    listener.onSuccess(KEY);
+                }
+            });
+
+            assertThat(assembled).hasValue(1);
+            StepVerifier.create(mono)
+                    .expectNext(KEY)
+                    .verifyComplete();
+        }
+        finally {
+            Hooks.resetOnEachOperator("listenerMonoTest");
+        }
+    }
+}
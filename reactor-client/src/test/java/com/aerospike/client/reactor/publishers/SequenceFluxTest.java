@@ -0,0 +1,220 @@
+package com.aerospike.client.reactor.publishers;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.ExistsSequenceListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.dto.KeyExists;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SequenceFluxTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PER_PRODUCER = 10_000;
+
+    @Test
+    public void shouldDeliverAllElementsFromConcurrentProducers(){
+        Flux<KeyExists> flux = new ExistsSequenceFlux() {
+            @Override
+            protected void execute(ExistsSequenceListener listener) {
+                AtomicInteger finished = new AtomicInteger();
+                for (int p = 0; p < PRODUCERS; p++) {
+                    int producer = p;
+                    new Thread(() -> {
+                        for (int i = 0; i < PER_PRODUCER; i++) {
+                            listener.onExists(new Key("a", "b", producer * PER_PRODUCER + i), true);
+                        }
+                        if (finished.incrementAndGet() == PRODUCERS) {
+                            listener.onSuccess();
+                        }
+                    }).start();
+                }
+            }
+        };
+
+        StepVerifier.create(flux)
+                .expectNextCount(PRODUCERS * PER_PRODUCER)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void shouldRespectBackpressure(){
+        Flux<KeyExists> flux = new ExistsSequenceFlux() {
+            @Override
+            protected void execute(ExistsSequenceListener listener) {
+                for (int i = 0; i < 10; i++) {
+                    listener.onExists(new Key("a", "b", i), i % 2 == 0);
+                }
+                listener.onSuccess();
+            }
+        };
+
+        StepVerifier.create(flux, 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(10))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .expectNoEvent(Duration.ofMillis(10))
+                .thenRequest(7)
+                .expectNextCount(7)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldDeliverErrorAfterQueuedElements(){
+        Flux<KeyExists> flux = new ExistsSequenceFlux() {
+            @Override
+            protected void execute(ExistsSequenceListener listener) {
+                listener.onExists(new Key("a", "b", 1), true);
+                listener.onFailure(new AerospikeException(ResultCode.TIMEOUT));
+            }
+        };
+
+        StepVerifier.create(flux)
+                .expectNextCount(1)
+                .verifyError(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldTerminateCommandWhenCancelled() throws InterruptedException {
+        AtomicReference<RecordSequenceListener> listenerRef = new AtomicReference<>();
+        CountDownLatch executed = new CountDownLatch(1);
+        Flux<KeyRecord> flux = new RecordSequenceFlux() {
+            @Override
+            protected void execute(RecordSequenceListener listener) {
+                listenerRef.set(listener);
+                executed.countDown();
+            }
+        };
+
+        flux.subscribe().dispose();
+        executed.await();
+
+        RecordSequenceListener listener = listenerRef.get();
+        assertThatThrownBy(() -> listener.onRecord(new Key("a", "b", 1), null))
+                .isInstanceOf(AerospikeException.QueryTerminated.class);
+        listener.onFailure(new AerospikeException.QueryTerminated());
+        assertThat(executed.getCount()).isZero();
+    }
+
+    @Test
+    public void shouldStopScanAfterCancel() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicReference<AerospikeException> terminated = new AtomicReference<>();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Flux<KeyRecord> flux = new RecordSequenceFlux() {
+            @Override
+            protected void execute(RecordSequenceListener listener) {
+                // a scan node delivering records until the listener tells it to stop
+                new Thread(() -> {
+                    try {
+                        for (int i = 0; i < PER_PRODUCER; i++) {
+                            listener.onRecord(new Key("a", "b", i), null);
+                            accepted.incrementAndGet();
+                        }
+                        listener.onSuccess();
+                    }
+                    catch (AerospikeException e) {
+                        terminated.set(e);
+                        listener.onFailure(e);
+                    }
+                    stopped.countDown();
+                }).start();
+            }
+        };
+
+        StepVerifier.create(flux.take(5))
+                .expectNextCount(5)
+                .verifyComplete();
+        stopped.await();
+
+        assertThat(terminated.get()).isInstanceOf(AerospikeException.QueryTerminated.class);
+        assertThat(accepted).hasValue(5);
+    }
+
+    @Test
+    public void shouldClearElementsOfferedAfterCancel(){
+        AtomicReference<RecordSequenceListener> listenerRef = new AtomicReference<>();
+        Flux<KeyRecord> flux = new RecordSequenceFlux() {
+            @Override
+            protected void execute(RecordSequenceListener listener) {
+                listenerRef.set(listener);
+            }
+        };
+
+        flux.subscribe().dispose();
+
+        // a producer that passed the cancelled check before the cancel
+        RecordSequenceFlux.RecordSequenceSubscription subscription =
+                (RecordSequenceFlux.RecordSequenceSubscription) listenerRef.get();
+        subscription.queue.offer(new KeyRecord(new Key("a", "b", 1), null));
+        subscription.request(1);
+
+        assertThat(subscription.queue).isEmpty();
+    }
+
+    @Test
+    public void shouldDiscardElementsDeliveredAfterFailure(){
+        AtomicReference<ExistsSequenceListener> listenerRef = new AtomicReference<>();
+        List<KeyExists> discarded = new ArrayList<>();
+        Flux<KeyExists> flux = new ExistsSequenceFlux() {
+            @Override
+            protected void execute(ExistsSequenceListener listener) {
+                listenerRef.set(listener);
+            }
+        };
+
+        StepVerifier.create(flux.doOnDiscard(KeyExists.class, discarded::add))
+                .then(() -> listenerRef.get().onFailure(new AerospikeException(ResultCode.TIMEOUT)))
+                .expectError(AerospikeException.class)
+                .verify(Duration.ofSeconds(5));
+
+        // another node still delivering after the sequence failed
+        listenerRef.get().onExists(new Key("a", "b", 1), true);
+
+        assertThat(discarded).hasSize(1);
+        assertThat(((SequenceSubscription<?, ?>) listenerRef.get()).queue).isEmpty();
+    }
+
+    @Test
+    public void shouldApplyAssemblyHooks(){
+        AtomicInteger assembled = new AtomicInteger();
+        Hooks.onEachOperator("sequenceFluxTest", publisher -> {
+            assembled.incrementAndGet();
+            return publisher;
+        });
+        try {
+            Flux<KeyExists> flux = SequenceFlux.assemble(new ExistsSequenceFlux() {
+                @Override
+                protected void execute(ExistsSequenceListener listener) {
+                    listener.onExists(new Key("a", "b", 1), true);
+                    listener.onSuccess();
+                }
+            });
+
+            assertThat(assembled).hasValue(1);
+            StepVerifier.create(flux)
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+        finally {
+            Hooks.resetOnEachOperator("sequenceFluxTest");
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.aerospike.client.reactor.retry;
 
 import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchDelete;
 import com.aerospike.client.BatchRead;
+import com.aerospike.client.BatchRecord;
 import com.aerospike.client.Bin;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
@@ -13,8 +15,10 @@ import com.aerospike.client.cdt.ListReturnType;
 import com.aerospike.client.exp.Expression;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.IAerospikeReactorClient;
 import org.junit.Test;
@@ -23,12 +27,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.aerospike.client.reactor.retry.RetryFactories.retryOnNoMoreConnections;
 import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -52,6 +58,8 @@ public class RetryTest {
     public static final AerospikeException.Connection NO_CONNECTION = new AerospikeException.Connection(ResultCode.NO_MORE_CONNECTIONS, "1");
     public static final AerospikeException.Timeout TIMEOUT = new AerospikeException.Timeout(new Policy(), false);
 
+    private static final Duration MAX_WAIT = Duration.ofMillis(10);
+
     private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
 
     private final IAerospikeReactorClient retryClient = new AerospikeReactorRetryClient(reactorClient,
@@ -87,6 +95,16 @@ public class RetryTest {
                 .verifyError(AerospikeException.Timeout.class);
     }
 
+    @Test
+    public void shouldRetryBatchGetSplitByNode(){
+
+        when(reactorClient.get(any(), any(Key[].class), anyInt(), anyInt()))
+                .thenReturn(mockMonoErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.get(null, KEYS, 100, 2))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
     @Test
     public void shouldRetryBatch(){
 
@@ -117,6 +135,61 @@ public class RetryTest {
                 .verifyError(AerospikeException.Timeout.class);
     }
 
+    @Test
+    public void shouldRetryBatchOfKeyStream(){
+
+        when(reactorClient.getFlux(any(), any(Key[].class)))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.getFlux(Flux.fromArray(KEYS), 1, MAX_WAIT, 1))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
+    @Test
+    public void shouldSendPartialBatchOfIdleKeyStream(){
+
+        when(reactorClient.getFlux(any(), any(Key[].class)))
+                .thenReturn(Flux.just(new KeyRecord(KEY, null)));
+
+        StepVerifier.create(retryClient.getFlux(Flux.just(KEY).concatWith(Flux.never()), 100, MAX_WAIT, 1))
+                .expectNextMatches(keyRecord -> keyRecord.key == KEY)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void shouldRetryBatchOfBatchReadStream(){
+
+        when(reactorClient.getFlux(any(), ArgumentMatchers.<List<BatchRead>>any()))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.getBatchReadFlux(Flux.fromIterable(BATCH), 1, MAX_WAIT, 1))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
+    @Test
+    public void shouldSendPartialBatchOfIdleRecordStream(){
+
+        BatchRecord delete = new BatchDelete(KEY);
+        when(reactorClient.operateFlux(any(), ArgumentMatchers.<List<BatchRecord>>any()))
+                .thenReturn(Flux.just(delete));
+
+        StepVerifier.create(retryClient.operateFlux(Flux.just(delete).concatWith(Flux.never()), 100, MAX_WAIT, 1))
+                .expectNext(delete)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void shouldRetryOperateFlux(){
+
+        when(reactorClient.operateFlux(any(), ArgumentMatchers.<List<BatchRecord>>any()))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.operateFlux(Flux.just(new BatchDelete(KEY)), 1, MAX_WAIT, 1))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
     @Test
     public void shouldRetryBatchFlux(){
 
@@ -250,7 +323,7 @@ public class RetryTest {
     @Test
     public void shouldRetryOperate(){
 
-        when(reactorClient.operate(any(), any(), any(Operation[].class)))
+        when(reactorClient.operate(ArgumentMatchers.<WritePolicy>any(), any(), any(Operation[].class)))
                 .thenReturn(mockMonoErrors(NO_CONNECTION, TIMEOUT));
 
         StepVerifier.create(retryClient.operate(KEY, Operation.touch(), Operation.delete()))
@@ -267,6 +340,16 @@ public class RetryTest {
                 .verifyError(AerospikeException.Timeout.class);
     }
 
+    @Test
+    public void shouldRetryQueryPaged(){
+
+        when(reactorClient.queryPaged(any(), anyInt(), any()))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.queryPaged(100, new Statement()))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
     @Test
     public void shouldRetryScanAll(){
 
@@ -277,6 +360,36 @@ public class RetryTest {
                 .verifyError(AerospikeException.Timeout.class);
     }
 
+    @Test
+    public void shouldRetryScanAllPaged(){
+
+        when(reactorClient.scanAllPaged(any(), anyInt(), any(), any(), any(String[].class)))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.scanAllPaged(100, "namespace", "setname", BIN_NAMES))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
+    @Test
+    public void shouldRetryBatchExecute(){
+
+        when(reactorClient.execute(any(), any(), any(Key[].class), any(), any(), any(Value[].class)))
+                .thenReturn(mockMonoErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.execute(null, null, KEYS, "packageName", "functionName"))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
+    @Test
+    public void shouldRetryBatchExecuteFlux(){
+
+        when(reactorClient.executeFlux(any(), any(), any(), any(), any(), any(Value[].class)))
+                .thenReturn(mockFluxErrors(NO_CONNECTION, TIMEOUT));
+
+        StepVerifier.create(retryClient.executeFlux(null, null, KEYS, "packageName", "functionName"))
+                .verifyError(AerospikeException.Timeout.class);
+    }
+
     @Test
     public void shouldRetryExecute(){
 